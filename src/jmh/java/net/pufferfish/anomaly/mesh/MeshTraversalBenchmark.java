@@ -0,0 +1,112 @@
+package net.pufferfish.anomaly.mesh;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full mesh-count walk: the HashSet/ArrayDeque BFS teleporters used to run
+ * ({@code countDiamondMeshViaConnectors}) against {@link MeshTraversal}.
+ *
+ * Both read the same in-memory stand-in for the world (packed position -> block kind), so the
+ * difference is the walk itself: allocation per visited node and hashing. Run with
+ * {@code ./gradlew jmh -Pjmh.include=MeshTraversal} (adds {@code -prof gc}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeshTraversalBenchmark {
+
+    private static final byte CONNECTOR = 1;
+    private static final byte MESH = 2;
+    private static final int MAX_MESH_SCAN = 8192;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Blocks in the network: a cable trunk ending in a cubic mesh bank. */
+    @Param({"512", "8192"})
+    public int blocks;
+
+    private final Long2ByteOpenHashMap world = new Long2ByteOpenHashMap();
+    private final MeshTraversal traversal = new MeshTraversal();
+    private BlockPos device;
+
+    @Setup
+    public void build() {
+        world.clear();
+        device = new BlockPos(0, 64, 0);
+
+        // Trunk: a quarter of the blocks in a straight line away from the device
+        int trunk = blocks / 4;
+        for (int i = 1; i <= trunk; i++) world.put(BlockPos.asLong(i, 64, 0), CONNECTOR);
+
+        // Bank: the rest as a cube of mesh at the end of the trunk
+        int side = (int) Math.cbrt(blocks - trunk);
+        for (int x = 0; x < side; x++) {
+            for (int y = 0; y < side; y++) {
+                for (int z = 0; z < side; z++) {
+                    world.put(BlockPos.asLong(trunk + 1 + x, 64 + y, z), MESH);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int hashSetBfs() {
+        Set<BlockPos> visited = new HashSet<>();
+        Queue<BlockPos> q = new ArrayDeque<>();
+        for (Direction d : DIRECTIONS) {
+            BlockPos n = device.offset(d);
+            if (kind(n) != 0) { q.add(n); visited.add(n); }
+        }
+        int count = 0;
+        int safety = 0;
+        while (!q.isEmpty() && safety++ < MAX_MESH_SCAN) {
+            BlockPos cur = q.remove();
+            byte k = kind(cur);
+            if (k == MESH) count++;
+            if (k != 0) {
+                for (Direction d : DIRECTIONS) {
+                    BlockPos nn = cur.offset(d);
+                    if (visited.contains(nn)) continue;
+                    if (kind(nn) != 0) { visited.add(nn); q.add(nn); }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int meshTraversal() {
+        int[] count = {0};
+        long seed = device.asLong();
+        traversal.walk(seed, MAX_MESH_SCAN, (pos, at) -> world.get(pos) != 0, pos -> {
+            if (world.get(pos) == MESH) count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    private byte kind(BlockPos pos) {
+        return world.get(pos.asLong());
+    }
+}
@@ -0,0 +1,81 @@
+package net.pufferfish.anomaly.util;
+
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.util.math.Vec3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * One teleporter ring tick (3 rings x 3 layers x 30 points around a beam axis): the per-block
+ * Vec3d ring helpers effects used to call against {@link Geometry}'s tables and basis. Points go to
+ * a Blackhole where the effect would spawn a particle. Run with
+ * {@code ./gradlew jmh -Pjmh.include=RingBenchmark} and compare gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingBenchmark {
+
+    private static final int RINGS = 9;
+    private static final int POINTS = 30;
+
+    private final Vec3d center = new Vec3d(10.5, 70.0, -3.5);
+    private final Vec3d dir = new Vec3d(0.3, 0.9, 0.3).normalize();
+    private final double[] uv = new double[6];
+
+    @Benchmark
+    public void vec3dRings(Blackhole bh) {
+        Vec3d a = Math.abs(dir.x) < 0.9 ? new Vec3d(1, 0, 0) : new Vec3d(0, 1, 0);
+        Vec3d u = dir.crossProduct(a).normalize();
+        if (u.lengthSquared() < 1e-6) {
+            a = new Vec3d(0, 0, 1);
+            u = dir.crossProduct(a).normalize();
+        }
+        Vec3d v = dir.crossProduct(u).normalize();
+
+        for (int ring = 0; ring < RINGS; ring++) {
+            double radius = 1.0 + ring * 0.5;
+            Vec3d c = center.add(dir.multiply(ring * 0.25));
+            double step = Math.PI * 2.0 / POINTS;
+            for (int i = 0; i < POINTS; i++) {
+                double ang = i * step;
+                Vec3d offset = u.multiply(Math.cos(ang) * radius).add(v.multiply(Math.sin(ang) * radius));
+                Vec3d p = c.add(offset);
+                bh.consume(p.x);
+                bh.consume(p.y);
+                bh.consume(p.z);
+            }
+        }
+    }
+
+    @Benchmark
+    public void geometryRings(Blackhole bh) {
+        Geometry.basis(dir.x, dir.y, dir.z, uv);
+        double[] circle = Geometry.circle(POINTS);
+
+        for (int ring = 0; ring < RINGS; ring++) {
+            double radius = 1.0 + ring * 0.5;
+            double cx = center.x + dir.x * ring * 0.25;
+            double cy = center.y + dir.y * ring * 0.25;
+            double cz = center.z + dir.z * ring * 0.25;
+            for (int i = 0; i < POINTS; i++) {
+                double cos = circle[i * 2] * radius, sin = circle[i * 2 + 1] * radius;
+                bh.consume(cx + uv[0] * cos + uv[3] * sin);
+                bh.consume(cy + uv[1] * cos + uv[4] * sin);
+                bh.consume(cz + uv[2] * cos + uv[5] * sin);
+            }
+        }
+    }
+}
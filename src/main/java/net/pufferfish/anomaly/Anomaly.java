@@ -47,6 +47,15 @@ public class Anomaly implements ModInitializer {
 		net.pufferfish.anomaly.registry.ModItemGroup.register();
 		net.pufferfish.anomaly.entity.ModEntities.register();
 		net.pufferfish.anomaly.lightning.CableConnectorLightning.init();
+		net.pufferfish.anomaly.mesh.HextechNetworkIndex.init();
+		net.pufferfish.anomaly.block.HextechPower.init();
+		net.pufferfish.anomaly.block.SpireDormancy.init();
+		net.pufferfish.anomaly.block.SpireVisibility.init();
+		net.pufferfish.anomaly.block.SpireLosCache.init();
+		net.pufferfish.anomaly.block.SpireFireControl.init();
+		net.pufferfish.anomaly.util.LivingEntityGrid.init();
+		net.pufferfish.anomaly.item.SpireMarkIndex.init();
+		net.pufferfish.anomaly.net.ParticleBroadcast.init();
 		ModLootInjector.register();
 		RecoveryCompassHextechHandler.register();
 		registerWrenchDamageHook();
@@ -5,7 +5,6 @@ import net.fabricmc.fabric.api.client.rendering.v1.EntityRendererRegistry;
 import net.minecraft.client.gui.screen.ingame.HandledScreens;
 import net.minecraft.client.item.CompassAnglePredicateProvider;
 import net.minecraft.client.item.ModelPredicateProviderRegistry;
-import net.minecraft.client.render.entity.EmptyEntityRenderer;
 import net.minecraft.client.render.entity.FlyingItemEntityRenderer;
 import net.minecraft.client.world.ClientWorld;
 import net.minecraft.entity.Entity;
@@ -14,11 +13,12 @@ import net.minecraft.nbt.NbtCompound;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.GlobalPos;
+import net.pufferfish.anomaly.client.HextechEffectsClient;
 import net.pufferfish.anomaly.client.ModModelPredicates;
 import net.pufferfish.anomaly.client.render.NoRenderEntityRenderer;
+import net.pufferfish.anomaly.client.render.OverchargedAnomalyEntityRenderer;
+import net.pufferfish.anomaly.client.render.WildRuneEntityRenderer;
 import net.pufferfish.anomaly.entity.ModEntities;
-import net.pufferfish.anomaly.entity.OverchargedAnomalyEntity;
-import net.pufferfish.anomaly.entity.WildRuneEntity;
 import net.pufferfish.anomaly.item.EcholocatorItem;
 import net.pufferfish.anomaly.item.ModItems;
 import net.pufferfish.anomaly.screen.ModScreenHandlers;
@@ -29,15 +29,10 @@ public class AnomalyClient implements ClientModInitializer {
     public void onInitializeClient() {
         HandledScreens.register(ModScreenHandlers.TELEPORTER_TERMINAL, TeleporterTerminalScreen::new);
         ModModelPredicates.init();
-        EntityRendererRegistry.register(
-                ModEntities.OVERCHARGED_ANOMALY,
-                ctx -> new EmptyEntityRenderer<OverchargedAnomalyEntity>(ctx)
-        );
+        HextechEffectsClient.init();
+        EntityRendererRegistry.register(ModEntities.OVERCHARGED_ANOMALY, OverchargedAnomalyEntityRenderer::new);
 
-        EntityRendererRegistry.register(
-                ModEntities.WILD_RUNE,
-                ctx -> new EmptyEntityRenderer<WildRuneEntity>(ctx)
-        );
+        EntityRendererRegistry.register(ModEntities.WILD_RUNE, WildRuneEntityRenderer::new);
 
         // === Echolocator: vanilla compass-style angle predicate ===
         ModelPredicateProviderRegistry.register(
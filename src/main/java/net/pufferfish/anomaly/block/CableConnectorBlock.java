@@ -12,6 +12,7 @@ import net.pufferfish.anomaly.sound.ModSounds;
 import org.jetbrains.annotations.Nullable;
 
 import net.pufferfish.anomaly.lightning.CableConnectorLightningState;
+import net.pufferfish.anomaly.mesh.HextechNetworkIndex;
 
 public class CableConnectorBlock extends Block {
 
@@ -29,6 +30,16 @@ public class CableConnectorBlock extends Block {
         }
     }
 
+    @Override
+    public void onBlockAdded(BlockState state, World world, BlockPos pos,
+                             BlockState oldState, boolean notify) {
+        super.onBlockAdded(state, world, pos, oldState, notify);
+
+        if (!world.isClient && world instanceof ServerWorld serverWorld && !oldState.isOf(this)) {
+            HextechNetworkIndex.get(serverWorld).onNetworkBlockAdded(pos, state);
+        }
+    }
+
     @Override
     public void onStateReplaced(BlockState state, World world, BlockPos pos,
                                 BlockState newState, boolean moved) {
@@ -52,6 +63,7 @@ public class CableConnectorBlock extends Block {
 
             if (!world.isClient && world instanceof ServerWorld serverWorld) {
                 CableConnectorLightningState.get(serverWorld).remove(pos);
+                HextechNetworkIndex.get(serverWorld).onNetworkBlockRemoved(pos, state);
             }
         }
 
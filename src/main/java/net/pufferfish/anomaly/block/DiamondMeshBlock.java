@@ -1,9 +1,30 @@
 package net.pufferfish.anomaly.block;
 
 import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.pufferfish.anomaly.mesh.HextechNetworkIndex;
 
 public class DiamondMeshBlock extends Block {
     public DiamondMeshBlock(Settings settings) {
         super(settings);
     }
+
+    @Override
+    public void onBlockAdded(BlockState state, World world, BlockPos pos, BlockState oldState, boolean notify) {
+        super.onBlockAdded(state, world, pos, oldState, notify);
+        if (world instanceof ServerWorld sw && !oldState.isOf(this)) {
+            HextechNetworkIndex.get(sw).onNetworkBlockAdded(pos, state);
+        }
+    }
+
+    @Override
+    public void onStateReplaced(BlockState state, World world, BlockPos pos, BlockState newState, boolean moved) {
+        if (world instanceof ServerWorld sw && !newState.isOf(this)) {
+            HextechNetworkIndex.get(sw).onNetworkBlockRemoved(pos, state);
+        }
+        super.onStateReplaced(state, world, pos, newState, moved);
+    }
 }
@@ -0,0 +1,172 @@
+package net.pufferfish.anomaly.block;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Redstone power of every Hextech device, cached per world and bucketed by chunk.
+ *
+ * {@code isReceivingRedstonePower} reads six neighbours and their emitted power; spires and
+ * teleporters used to call it every tick. Here it runs only when a device gets a neighbor update
+ * ({@link #refresh}), is placed, or its chunk loads; ticking code reads the cached flag. The previous
+ * value doubles as the rising-edge memory the Overcharged Teleporter triggers on.
+ *
+ * Devices found in a freshly loaded chunk are seeded at the end of the tick once the chunks around
+ * them are loaded, so the check never pulls in a neighbour chunk; until then the first read does it.
+ */
+public final class HextechPower {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte UNPOWERED = 1;
+    private static final byte POWERED = 2;
+
+    private static final Map<RegistryKey<World>, Cache> CACHES = new ConcurrentHashMap<>();
+
+    private HextechPower() {}
+
+    public static void init() {
+        ServerChunkEvents.CHUNK_LOAD.register(HextechPower::onChunkLoad);
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            Cache c = CACHES.get(world.getRegistryKey());
+            if (c != null) c.chunks.remove(chunk.getPos().toLong());
+        });
+        ServerTickEvents.END_WORLD_TICK.register(HextechPower::seed);
+        ServerWorldEvents.UNLOAD.register((server, world) -> CACHES.remove(world.getRegistryKey()));
+    }
+
+    public static boolean isDevice(BlockState s) {
+        return s.isOf(ModBlocks.HEXTECH_SPIRE)
+                || s.isOf(ModBlocks.HEXTECH_TELEPORTER)
+                || s.isOf(ModBlocks.OVERCHARGED_TELEPORTER_BLOCK);
+    }
+
+    /* ---------- reads ---------- */
+
+    /** Cached power of the device; computed once if nothing is cached yet. */
+    public static boolean isPowered(ServerWorld world, BlockPos pos) {
+        Long2ByteOpenHashMap chunk = cache(world).chunk(pos);
+        byte v = chunk.get(pos.asLong());
+        if (v == UNKNOWN) {
+            v = compute(world, pos);
+            chunk.put(pos.asLong(), v);
+        }
+        return v == POWERED;
+    }
+
+    /* ---------- updates ---------- */
+
+    /**
+     * Re-reads the device's power after a neighbor update or placement. Returns true on a rising
+     * edge (unpowered or unknown before, powered now).
+     */
+    public static boolean refresh(ServerWorld world, BlockPos pos) {
+        byte now = compute(world, pos);
+        byte before = cache(world).chunk(pos).put(pos.asLong(), now);
+        return now == POWERED && before != POWERED;
+    }
+
+    public static void forget(ServerWorld world, BlockPos pos) {
+        Cache c = CACHES.get(world.getRegistryKey());
+        if (c == null) return;
+        Long2ByteOpenHashMap chunk = c.chunks.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (chunk != null) chunk.remove(pos.asLong());
+        c.seed.remove(pos.asLong());
+    }
+
+    private static byte compute(ServerWorld world, BlockPos pos) {
+        return world.isReceivingRedstonePower(pos) ? POWERED : UNPOWERED;
+    }
+
+    /* ---------- chunk load ---------- */
+
+    private static void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        ChunkSection[] sections = chunk.getSectionArray();
+        for (int i = 0; i < sections.length; i++) {
+            ChunkSection sec = sections[i];
+            if (sec.isEmpty() || !sec.hasAny(HextechPower::isDevice)) continue;
+
+            Cache c = cache(world);
+            int baseX = chunk.getPos().getStartX();
+            int baseY = chunk.sectionIndexToCoord(i) << 4;
+            int baseZ = chunk.getPos().getStartZ();
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (isDevice(sec.getBlockState(x, y, z))) {
+                            c.seed.add(BlockPos.asLong(baseX + x, baseY + y, baseZ + z));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void seed(ServerWorld world) {
+        Cache c = CACHES.get(world.getRegistryKey());
+        if (c == null || c.seed.isEmpty()) return;
+
+        BlockPos.Mutable m = new BlockPos.Mutable();
+        LongIterator it = c.seed.iterator();
+        while (it.hasNext()) {
+            long key = it.nextLong();
+            m.set(key);
+            if (!world.isChunkLoaded(m)) {
+                it.remove();
+                continue;
+            }
+            if (!neighboursLoaded(world, m)) continue;
+
+            it.remove();
+            Long2ByteOpenHashMap chunk = c.chunk(m);
+            if (chunk.get(key) == UNKNOWN) chunk.put(key, compute(world, m));
+        }
+    }
+
+    private static boolean neighboursLoaded(ServerWorld world, BlockPos pos) {
+        int x = pos.getX(), z = pos.getZ();
+        if ((x & 15) == 0  && !world.isChunkLoaded((x - 1) >> 4, z >> 4)) return false;
+        if ((x & 15) == 15 && !world.isChunkLoaded((x + 1) >> 4, z >> 4)) return false;
+        if ((z & 15) == 0  && !world.isChunkLoaded(x >> 4, (z - 1) >> 4)) return false;
+        return (z & 15) != 15 || world.isChunkLoaded(x >> 4, (z + 1) >> 4);
+    }
+
+    /* ---------- per-world state ---------- */
+
+    private static Cache cache(ServerWorld world) {
+        return CACHES.computeIfAbsent(world.getRegistryKey(), k -> new Cache());
+    }
+
+    private static final class Cache {
+        /** Chunk -> device -> UNPOWERED/POWERED. */
+        final Long2ObjectOpenHashMap<Long2ByteOpenHashMap> chunks = new Long2ObjectOpenHashMap<>();
+        /** Devices from freshly loaded chunks, waiting for their neighbours. */
+        final LongOpenHashSet seed = new LongOpenHashSet();
+
+        Long2ByteOpenHashMap chunk(BlockPos pos) {
+            long key = ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+            Long2ByteOpenHashMap m = chunks.get(key);
+            if (m == null) {
+                m = new Long2ByteOpenHashMap();
+                m.defaultReturnValue(UNKNOWN);
+                chunks.put(key, m);
+            }
+            return m;
+        }
+    }
+}
@@ -1,22 +1,21 @@
 package net.pufferfish.anomaly.block;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 import net.minecraft.block.Block;
+import net.minecraft.block.BlockRenderType;
 import net.minecraft.block.BlockState;
-import net.minecraft.entity.Entity;
+import net.minecraft.block.BlockWithEntity;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityTicker;
+import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.inventory.Inventory;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NbtCompound;
-import net.minecraft.nbt.NbtElement;
-import net.minecraft.nbt.NbtList;
-import net.minecraft.particle.DustParticleEffect;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvents;
@@ -28,23 +27,27 @@ import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.hit.HitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
-import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.world.RaycastContext;
 import net.minecraft.world.World;
 
+import net.pufferfish.anomaly.block.entity.ModBlockEntities;
 import net.pufferfish.anomaly.item.ModItems;
+import net.pufferfish.anomaly.item.SpireMarkIndex;
 import net.pufferfish.anomaly.item.SpireMarkItem;
+import net.pufferfish.anomaly.mesh.HextechNetworkIndex;
+import net.pufferfish.anomaly.net.HextechEffects;
+import net.pufferfish.anomaly.net.ParticleBroadcast;
 import net.pufferfish.anomaly.sound.ModSounds;
 import net.pufferfish.anomaly.util.CrownHooks;
-import org.joml.Vector3f;
+import net.pufferfish.anomaly.util.LivingEntityGrid;
+import net.pufferfish.anomaly.world.SpireAllegianceState;
 
-public class HextechSpireBlock extends Block {
+public class HextechSpireBlock extends BlockWithEntity {
 
     /* visuals */
-    private static final DustParticleEffect CYAN =
-            new DustParticleEffect(new Vector3f(0f, 1f, 1f), 1.0f);
+    private static final int CYAN = 0x00FFFF;
     private static final double BEAM_MAX_LEN = 256.0;
     private static final double RING_FORWARD_OFFSET = 2.0;
 
@@ -79,18 +82,41 @@ public class HextechSpireBlock extends Block {
     private static final double KB_L3 = 1.2;
 
     /* mesh */
-    private static final int MAX_MESH_SCAN = 8192;
     private static final int LEVEL1_START = 16;
     private static final int LEVEL2_START = 32;
     private static final int LEVEL3_START = 64;
 
-    /* owner memory (non-persistent) */
-    private static final ConcurrentHashMap<BlockPos, UUID> OWNER = new ConcurrentHashMap<>();
-
     public HextechSpireBlock(Settings settings) {
         super(settings);
     }
 
+    /* ========== block entity ========== */
+
+    @Override
+    public BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
+        return new HextechSpireBlockEntity(pos, state);
+    }
+
+    @Override
+    public BlockRenderType getRenderType(BlockState state) {
+        return BlockRenderType.MODEL;
+    }
+
+    @Override
+    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World world, BlockState state,
+                                                                  BlockEntityType<T> type) {
+        if (world.isClient) return null;
+        return checkType(type, ModBlockEntities.HEXTECH_SPIRE,
+                (w, pos, s, spire) -> serverTick((ServerWorld) w, pos, spire));
+    }
+
+    // Migration: spires placed before the block entity existed only have a pending block tick saved.
+    // getBlockEntity creates the missing entity (and its ticker); nothing is rescheduled.
+    @Override
+    public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
+        world.getBlockEntity(pos);
+    }
+
     /* ========== placement ========== */
 
     @Override
@@ -99,9 +125,11 @@ public class HextechSpireBlock extends Block {
         super.onPlaced(world, pos, state, placer, stack);
         if (!world.isClient) {
             if (placer instanceof PlayerEntity p) {
-                OWNER.put(pos.toImmutable(), p.getUuid());
+                if (world.getBlockEntity(pos) instanceof HextechSpireBlockEntity spire) {
+                    spire.setOwner(p.getUuid());
+                }
+                SpireAllegianceState.get((ServerWorld) world).assign(pos, p);
             }
-            ((ServerWorld) world).scheduleBlockTick(pos, this, 1);
         }
     }
 
@@ -110,8 +138,10 @@ public class HextechSpireBlock extends Block {
                                 BlockState newState, boolean moved) {
         super.onStateReplaced(state, world, pos, newState, moved);
         if (!world.isClient && !state.isOf(newState.getBlock())) {
-            OWNER.remove(pos.toImmutable());
-            ShotData.MAP.remove(pos.toImmutable());
+            SpireDormancy.forget((ServerWorld) world, pos);
+            HextechPower.forget((ServerWorld) world, pos);
+            SpireVisibility.forget((ServerWorld) world, pos);
+            SpireAllegianceState.get((ServerWorld) world).remove(pos);
         }
     }
 
@@ -120,7 +150,8 @@ public class HextechSpireBlock extends Block {
                                Block block, BlockPos fromPos, boolean notify) {
         super.neighborUpdate(state, world, pos, block, fromPos, notify);
         if (!world.isClient) {
-            ((ServerWorld) world).scheduleBlockTick(pos, this, 1);
+            HextechPower.refresh((ServerWorld) world, pos);
+            if (world.getBlockEntity(pos) instanceof HextechSpireBlockEntity spire) spire.wake();
         }
     }
 
@@ -135,7 +166,8 @@ public class HextechSpireBlock extends Block {
 
         // Bind mark to THIS spire (owner-only, max 16 binds)
         if (held.isOf(ModItems.SPIRE_MARK)) {
-            UUID owner = OWNER.get(pos.toImmutable());
+            if (!(world.getBlockEntity(pos) instanceof HextechSpireBlockEntity spire)) return ActionResult.PASS;
+            UUID owner = spire.getOwner();
 
             if (owner != null && !owner.equals(player.getUuid())) {
                 player.sendMessage(Text.literal("You are not the owner of this spire.")
@@ -153,7 +185,7 @@ public class HextechSpireBlock extends Block {
             }
 
             if (owner == null) {
-                OWNER.put(pos.toImmutable(), player.getUuid());
+                spire.setOwner(player.getUuid());
             }
 
             player.sendMessage(Text.literal("Spire added (" + SpireMarkItem.getBindCount(held) + "/16).")
@@ -164,11 +196,14 @@ public class HextechSpireBlock extends Block {
         ServerWorld sw = (ServerWorld) world;
         int meshes = countDiamondMeshViaConnectors(sw, pos);
         int level = computeLevel(meshes);
-        boolean powered = !REQUIRE_REDSTONE || sw.isReceivingRedstonePower(pos);
+        boolean powered = !REQUIRE_REDSTONE || HextechPower.isPowered(sw, pos);
+
+        boolean partial = HextechNetworkIndex.get(sw).reachesUnloaded(pos);
 
         player.sendMessage(Text.literal(
                 "Meshes: " + meshes + " | Level: " + level +
-                        " | " + (powered ? "Active" : "Inactive")
+                        " | " + (powered ? "Active" : "Inactive") +
+                        (partial ? " | network continues into unloaded chunk" : "")
         ), true);
 
         return ActionResult.SUCCESS;
@@ -176,34 +211,28 @@ public class HextechSpireBlock extends Block {
 
     /* ========== ticking ========== */
 
-    @Override
-    public void onBlockAdded(BlockState state, World world,
-                             BlockPos pos, BlockState oldState, boolean notify) {
-        super.onBlockAdded(state, world, pos, oldState, notify);
-        if (!world.isClient) {
-            ((ServerWorld) world).scheduleBlockTick(pos, this, 1);
+    private void serverTick(ServerWorld world, BlockPos pos, HextechSpireBlockEntity data) {
+        if (data.isDormant()) return;
+        if (!tickSpire(world, pos, data)) {
+            data.sleep();
+            SpireDormancy.sleep(world, pos, SCAN_RADIUS);
         }
     }
 
-    @Override
-    public void scheduledTick(BlockState state, ServerWorld world,
-                              BlockPos pos, Random random) {
-
-        world.scheduleBlockTick(pos, this, 1);
-
-        ShotData data = ShotData.get(pos);
+    /** One spire tick. Returns false when the spire is idle and can go dormant. */
+    private boolean tickSpire(ServerWorld world, BlockPos pos, HextechSpireBlockEntity data) {
 
         if (data.cooldown > 0) {
             data.cooldown--;
-            return;
+            return true;
         }
 
-        boolean powered = !REQUIRE_REDSTONE || world.isReceivingRedstonePower(pos);
+        boolean powered = !REQUIRE_REDSTONE || HextechPower.isPowered(world, pos);
         int level = computeLevel(countDiamondMeshViaConnectors(world, pos));
 
         if (!powered || level == 0) {
             data.resetAll();
-            return;
+            return false;
         }
 
         Vec3d origin = centerTop(pos);
@@ -215,24 +244,25 @@ public class HextechSpireBlock extends Block {
             LivingEntity cand = data.resolveSoft(world);
             if (cand != null) {
                 // soft target must still be valid: player rules AND (LOS OR glowing)
-                if (!cand.isAlive() || !passesPlayerRules(world, pos, cand) || !canTarget(world, origin, cand)) {
+                if (!cand.isAlive() || !passesPlayerRules(world, data, cand) || !canTarget(world, pos, origin, cand)) {
                     data.softTarget = null;
                     cand = null;
                 }
             }
 
             if (cand == null) {
-                cand = findCandidate(world, pos, origin);
+                cand = acquire(world, data, origin);
                 data.softTarget = (cand == null) ? null : cand.getUuid();
             }
 
-            if (cand == null) return;
+            // Nothing to shoot: stay awake only while someone eligible is around (LOS may open up)
+            if (cand == null) return hasEligibleInRange(world, data);
 
 // If we have LOS, apply/refresh glowing for 5 seconds
-            applyGlowingIfHasLos(world, origin, cand);
+            applyGlowingIfHasLos(world, pos, origin, cand);
 
 // Start the actual shot (and play sound) only if LOS OR glowing
-            if (canTarget(world, origin, cand)) {
+            if (canTarget(world, pos, origin, cand)) {
                 data.start(cand.getUuid(), origin, centerOf(cand), computeScale(cand), level);
 
                 world.playSound(null, pos,
@@ -240,7 +270,7 @@ public class HextechSpireBlock extends Block {
                         SoundCategory.BLOCKS, 4.0f, 0.90f);
             }
 
-            return;
+            return true;
         }
 
         // ========= Track
@@ -248,73 +278,92 @@ public class HextechSpireBlock extends Block {
         if (target == null || !target.isAlive()) {
             data.cooldown = REACQUIRE_COOLDOWN_TICKS;
             data.resetShotOnly();
-            return;
+            return true;
         }
 
         // Enforce player rules during tracking too
-        if (!passesPlayerRules(world, pos, target)) {
+        if (!passesPlayerRules(world, data, target)) {
             data.cooldown = REACQUIRE_COOLDOWN_TICKS;
             data.resetShotOnly();
-            return;
+            return true;
         }
 
+        // Tell the network's fire control, so free spires pick other targets first
+        int network = HextechNetworkIndex.get(world).meshNetworkId(pos);
+        if (network >= 0) SpireFireControl.engaged(world, network, target.getUuid());
+
         // Refresh glowing ONLY when LOS is true
-        applyGlowingIfHasLos(world, data.from, target);
+        applyGlowingIfHasLos(world, pos, data.from, target);
 
         // LOS rules while shooting:
         // - If LOS: ok
         // - If no LOS: ok ONLY if glowing (wall-shot)
         // - If no LOS and not glowing: allow a few misses then drop
-        boolean los = hasLineOfSight(world, data.from, target);
+        boolean los = hasLineOfSight(world, pos, data.from, target);
         if (!los && !target.isGlowing()) {
             data.losMisses++;
             if (data.losMisses < LOS_GRACE_TICKS) {
-                return;
+                return true;
             }
             data.cooldown = REACQUIRE_COOLDOWN_TICKS;
             data.resetShotOnly();
-            return;
+            return true;
         }
         data.losMisses = 0;
 
         data.to = centerOf(target);
 
+        HextechEffects.Builder fx = HextechEffects.begin(CYAN, 1.0f).priority(ParticleBroadcast.Priority.CRITICAL);
         switch (data.stage) {
             case 0 -> {
-                spawnRingsAt(world, data.from, data.to, RingSize.LARGE, data.scale);
+                ringsAt(fx, data.from, data.to, RingSize.LARGE, data.scale);
+                fx.send(world);
                 stepStage(data, 0, DURATION_LARGE);
-                return;
+                return true;
             }
             case 1 -> {
-                spawnRingsAt(world, data.from, data.to, RingSize.LARGE, data.scale);
-                spawnRingsAt(world, data.from, data.to, RingSize.MEDIUM, data.scale);
+                ringsAt(fx, data.from, data.to, RingSize.LARGE, data.scale);
+                ringsAt(fx, data.from, data.to, RingSize.MEDIUM, data.scale);
+                fx.send(world);
                 stepStage(data, 1, DURATION_MEDIUM);
-                return;
+                return true;
             }
             case 2 -> {
-                spawnRingsAt(world, data.from, data.to, RingSize.LARGE, data.scale);
-                spawnRingsAt(world, data.from, data.to, RingSize.MEDIUM, data.scale);
-                spawnRingsAt(world, data.from, data.to, RingSize.SMALL, data.scale);
+                ringsAt(fx, data.from, data.to, RingSize.LARGE, data.scale);
+                ringsAt(fx, data.from, data.to, RingSize.MEDIUM, data.scale);
+                ringsAt(fx, data.from, data.to, RingSize.SMALL, data.scale);
+                fx.send(world);
                 stepStage(data, 2, DURATION_SMALL);
-                return;
+                return true;
             }
         }
 
-        drawBeam(world, data.from, data.to, 70);
+        drawBeam(fx, data.from, data.to, 70);
+        fx.send(world);
 
         data.timer += VISUAL_TICK_INTERVAL;
         if (data.timer >= IMPACT_DELAY_TICKS) {
-            applyImpact(world, pos, target, data.level);
+            applyImpact(world, data, target, data.level);
             data.cooldown = COOLDOWN_TICKS;
             data.resetShotOnly();
         }
+        return true;
     }
 
     /* ========== LOS (self-collision safe for full cube) ========== */
 
-    private boolean hasLineOfSight(ServerWorld world, Vec3d from, LivingEntity target) {
+    private boolean hasLineOfSight(ServerWorld world, BlockPos spirePos, Vec3d from, LivingEntity target) {
         if (target == null) return false;
+        return SpireLosCache.lineOfSight(world, from, target, () -> {
+            // Coarse visibility volume first; exact raycast only for ambiguous cells
+            byte v = SpireVisibility.lookup(world, spirePos, from, SCAN_RADIUS, target.getEyePos());
+            if (v == SpireVisibility.VISIBLE) return true;
+            if (v == SpireVisibility.BLOCKED) return false;
+            return raycastLineOfSight(world, from, target);
+        });
+    }
 
+    private boolean raycastLineOfSight(ServerWorld world, Vec3d from, LivingEntity target) {
         Vec3d end = target.getEyePos();
         Vec3d delta = end.subtract(from);
         if (delta.lengthSquared() < 1e-8) return true;
@@ -339,16 +388,16 @@ public class HextechSpireBlock extends Block {
         return hitDistSq >= (maxDistSq - 0.15);
     }
 
-    private boolean canTarget(ServerWorld world, Vec3d from, LivingEntity e) {
-        return e != null && e.isAlive() && (e.isGlowing() || hasLineOfSight(world, from, e));
+    private boolean canTarget(ServerWorld world, BlockPos spirePos, Vec3d from, LivingEntity e) {
+        return e != null && e.isAlive() && (e.isGlowing() || hasLineOfSight(world, spirePos, from, e));
     }
 
     /* ========== glowing helper ========== */
 
-    private void applyGlowingIfHasLos(ServerWorld world, Vec3d from, LivingEntity target) {
+    private void applyGlowingIfHasLos(ServerWorld world, BlockPos spirePos, Vec3d from, LivingEntity target) {
         if (target == null || !target.isAlive()) return;
 
-        if (hasLineOfSight(world, from, target)) {
+        if (hasLineOfSight(world, spirePos, from, target)) {
             // refresh to 5s remaining; only applied while LOS is true
             target.addStatusEffect(new StatusEffectInstance(StatusEffects.GLOWING, GLOW_TICKS, 0, false, false));
         }
@@ -356,65 +405,50 @@ public class HextechSpireBlock extends Block {
 
     /* ========== targeting ========== */
 
+    // Networked spires take their target from the network's fire control (see SpireFireControl)
+    private LivingEntity acquire(ServerWorld world, HextechSpireBlockEntity spire, Vec3d origin) {
+        BlockPos pos = spire.getPos();
+        int network = HextechNetworkIndex.get(world).meshNetworkId(pos);
+        if (network < 0) return findCandidate(world, spire, origin);
+
+        return SpireFireControl.request(world, network, pos, origin, new Box(pos).expand(SCAN_RADIUS),
+                le -> passesPlayerRules(world, spire, le) && canTarget(world, pos, origin, le),
+                () -> findCandidate(world, spire, origin));
+    }
+
     // Candidate selection: nearest valid entity (does NOT require glowing)
     // Candidate selection: nearest valid entity that is either visible (LOS) OR already glowing
-    private LivingEntity findCandidate(ServerWorld world, BlockPos pos, Vec3d origin) {
+    // Shared per-tick grid, tested closest first: the first entity passing the rules wins
+    private LivingEntity findCandidate(ServerWorld world, HextechSpireBlockEntity spire, Vec3d origin) {
+        BlockPos pos = spire.getPos();
         Box box = new Box(pos).expand(SCAN_RADIUS);
 
-        return world.getEntitiesByClass(LivingEntity.class, box, LivingEntity::isAlive)
-                .stream()
-                .filter(le -> passesPlayerRules(world, pos, le))
-                .filter(le -> canTarget(world, origin, le)) // <-- key change
-                .min(Comparator.comparingDouble(le -> le.getPos().squaredDistanceTo(origin)))
-                .orElse(null);
+        return LivingEntityGrid.get(world).nearest(origin, box,
+                le -> passesPlayerRules(world, spire, le) && canTarget(world, pos, origin, le));
     }
 
-    private boolean passesPlayerRules(ServerWorld world, BlockPos spirePos, LivingEntity le) {
-        if (le instanceof PlayerEntity p) {
-            if (p.isCreative() || p.isSpectator()) return false;
-            if (isOwner(spirePos, p)) return false;
-
-            String dimId = world.getRegistryKey().getValue().toString();
-            if (hasMarkBoundToThisSpire(p, spirePos, dimId)) return false;
-        }
-        return true;
+    // Dormancy check: anyone in range the spire would shoot at, visible or not
+    private boolean hasEligibleInRange(ServerWorld world, HextechSpireBlockEntity spire) {
+        Box box = new Box(spire.getPos()).expand(SCAN_RADIUS);
+        return LivingEntityGrid.get(world).any(box, le -> passesPlayerRules(world, spire, le));
     }
 
-    /* ========== player exemption helpers ========== */
+    private boolean passesPlayerRules(ServerWorld world, HextechSpireBlockEntity spire, LivingEntity le) {
+        if (le instanceof PlayerEntity p) {
+            if (p.isCreative() || p.isSpectator()) return false;
+            if (spire.isOwner(p.getUuid())) return false;
 
-    private boolean isOwner(BlockPos spirePos, PlayerEntity player) {
-        UUID owner = OWNER.get(spirePos.toImmutable());
-        return owner != null && owner.equals(player.getUuid());
-    }
+            BlockPos spirePos = spire.getPos();
+            if (SpireAllegianceState.get(world).isAllied(spirePos, p)) return false;
 
-    // Multi-bind mark check (dim + pos) to match SpireMarkItem format
-    private boolean hasMarkBoundToThisSpire(PlayerEntity player, BlockPos spirePos, String dimId) {
-        Inventory inv = player.getInventory();
-        for (int i = 0; i < inv.size(); i++) {
-            ItemStack stack = inv.getStack(i);
-            if (!stack.isOf(ModItems.SPIRE_MARK)) continue;
-
-            NbtCompound tag = stack.getNbt();
-            if (tag == null || !tag.contains(SpireMarkItem.NBT_BINDS, NbtElement.LIST_TYPE)) continue;
-
-            NbtList list = tag.getList(SpireMarkItem.NBT_BINDS, NbtElement.COMPOUND_TYPE);
-            for (int j = 0; j < list.size(); j++) {
-                NbtCompound c = list.getCompound(j);
-                if (!dimId.equals(c.getString(SpireMarkItem.KEY_DIM))) continue;
-
-                if (c.getInt(SpireMarkItem.KEY_X) == spirePos.getX()
-                        && c.getInt(SpireMarkItem.KEY_Y) == spirePos.getY()
-                        && c.getInt(SpireMarkItem.KEY_Z) == spirePos.getZ()) {
-                    return true;
-                }
-            }
+            if (SpireMarkIndex.isExempt(p, world.getRegistryKey(), spirePos)) return false;
         }
-        return false;
+        return true;
     }
 
     /* ========== impact ========== */
 
-    private void applyImpact(ServerWorld world, BlockPos spirePos,
+    private void applyImpact(ServerWorld world, HextechSpireBlockEntity spire,
                              LivingEntity target, int level) {
 
         if (CrownHooks.isWearingCrown(target)) {
@@ -424,24 +458,25 @@ public class HextechSpireBlock extends Block {
 
         switch (level) {
             case 1 -> target.damage(world.getDamageSources().magic(), DMG_L1);
-            case 2 -> aoe(world, spirePos, centerOf(target), 4.5, KB_L2);
-            case 3 -> aoe(world, spirePos, centerOf(target), 5.0, KB_L3);
+            case 2 -> aoe(world, spire, centerOf(target), 4.5, KB_L2);
+            case 3 -> aoe(world, spire, centerOf(target), 5.0, KB_L3);
         }
     }
 
-    private void aoe(ServerWorld world, BlockPos spirePos,
+    private void aoe(ServerWorld world, HextechSpireBlockEntity spire,
                      Vec3d center, double radius, double kb) {
 
-        Box box = new Box(center, center).expand(radius);
+        BlockPos spirePos = spire.getPos();
+        List<LivingEntity> hit = new ArrayList<>();
+        LivingEntityGrid.get(world).collectCapsule(center, center, radius, hit);
 
-        for (LivingEntity le :
-                world.getEntitiesByClass(LivingEntity.class, box, LivingEntity::isAlive)) {
+        for (LivingEntity le : hit) {
 
             if (le instanceof PlayerEntity p) {
-                if (isOwner(spirePos, p)) continue;
+                if (spire.isOwner(p.getUuid())) continue;
+                if (SpireAllegianceState.get(world).isAllied(spirePos, p)) continue;
 
-                String dimId = world.getRegistryKey().getValue().toString();
-                if (hasMarkBoundToThisSpire(p, spirePos, dimId)) continue;
+                if (SpireMarkIndex.isExempt(p, world.getRegistryKey(), spirePos)) continue;
             }
 
             le.damage(world.getDamageSources().magic(), DMG_AOE);
@@ -476,40 +511,10 @@ public class HextechSpireBlock extends Block {
         e.velocityModified = true;
     }
 
-    /* ========== mesh logic (unchanged) ========== */
+    /* ========== mesh logic ========== */
 
     private int countDiamondMeshViaConnectors(ServerWorld world, BlockPos origin) {
-        java.util.Set<BlockPos> visited = new java.util.HashSet<>();
-        java.util.ArrayDeque<BlockPos> q = new java.util.ArrayDeque<>();
-
-        for (Direction d : Direction.values()) {
-            BlockPos n = origin.offset(d);
-            if (isConnector(world.getBlockState(n)) ||
-                    isDiamondMesh(world.getBlockState(n))) {
-                q.add(n);
-                visited.add(n);
-            }
-        }
-
-        int count = 0, safety = 0;
-        while (!q.isEmpty() && safety++ < MAX_MESH_SCAN) {
-            BlockPos cur = q.remove();
-            BlockState s = world.getBlockState(cur);
-
-            if (isDiamondMesh(s)) count++;
-
-            for (Direction d : Direction.values()) {
-                BlockPos nn = cur.offset(d);
-                if (!visited.contains(nn)) {
-                    BlockState ns = world.getBlockState(nn);
-                    if (isConnector(ns) || isDiamondMesh(ns)) {
-                        visited.add(nn);
-                        q.add(nn);
-                    }
-                }
-            }
-        }
-        return count;
+        return HextechNetworkIndex.get(world).meshCount(origin);
     }
 
     private int computeLevel(int meshes) {
@@ -519,99 +524,16 @@ public class HextechSpireBlock extends Block {
         return 0;
     }
 
-    private boolean isDiamondMesh(BlockState s) {
-        return s.isOf(ModBlocks.DIAMOND_MESH);
-    }
-
-    private boolean isConnector(BlockState s) {
-        return s.isOf(ModBlocks.CABLE_CONNECTOR);
-    }
-
-    /* ========== per-spire state ========== */
-
-    private static final class ShotData {
-        // soft lock (targeting but not shooting yet)
-        UUID softTarget;
-
-        // shot state
-        UUID target;
-        Vec3d from, to;
-        double scale;
-        int level, stage, timer, cooldown;
-
-        // tracking stability
-        int losMisses;
-
-        boolean active() { return target != null; }
-        boolean hasSoft() { return softTarget != null; }
-
-        void start(UUID t, Vec3d f, Vec3d to, double s, int l) {
-            target = t;
-            from = f;
-            this.to = to;
-            scale = s;
-            level = l;
-            stage = 0;
-            timer = 0;
-            losMisses = 0;
-
-            // once we start a real shot, clear soft-lock
-            softTarget = null;
-        }
-
-        LivingEntity resolveTarget(ServerWorld w) {
-            if (target == null) return null;
-            Entity e = w.getEntity(target);
-            return e instanceof LivingEntity le ? le : null;
-        }
-
-        LivingEntity resolveSoft(ServerWorld w) {
-            if (softTarget == null) return null;
-            Entity e = w.getEntity(softTarget);
-            return e instanceof LivingEntity le ? le : null;
-        }
-
-        // reset only the current shot (keeps softTarget so it can start when LOS becomes true)
-        void resetShotOnly() {
-            target = null;
-            stage = 0;
-            timer = 0;
-            losMisses = 0;
-        }
-
-        // drop everything (used when disabled, or when soft target becomes invalid)
-        void resetAll() {
-            target = null;
-            softTarget = null;
-            stage = 0;
-            timer = 0;
-            losMisses = 0;
-            cooldown = 0;
-        }
-
-        static final ConcurrentHashMap<BlockPos, ShotData> MAP =
-                new ConcurrentHashMap<>();
-
-        static ShotData get(BlockPos p) {
-            return MAP.computeIfAbsent(p.toImmutable(), k -> new ShotData());
-        }
-    }
-
-    /* visuals */
+    /* visuals (expanded into particles on the client, see HextechEffects) */
 
-    private void drawBeam(ServerWorld w, Vec3d from, Vec3d to, int steps) {
-        Vec3d d = to.subtract(from);
-        if (d.lengthSquared() < 1e-6) return;
-        Vec3d dir = d.normalize();
-        for (int i = 0; i <= steps; i++) {
-            Vec3d p = from.add(dir.multiply(d.length() * i / steps));
-            w.spawnParticles(CYAN, p.x, p.y, p.z, 1, 0, 0, 0, 0);
-        }
+    private void drawBeam(HextechEffects.Builder fx, Vec3d from, Vec3d to, int steps) {
+        if (to.squaredDistanceTo(from) < 1e-6) return;
+        fx.beam(from, to, steps, 1, 0.0);
     }
 
-    private void spawnRingsAt(ServerWorld world,
-                              Vec3d from, Vec3d to,
-                              RingSize size, double scale) {
+    private void ringsAt(HextechEffects.Builder fx,
+                         Vec3d from, Vec3d to,
+                         RingSize size, double scale) {
 
         Vec3d diff = to.subtract(from);
         double fullLen = diff.length();
@@ -619,7 +541,6 @@ public class HextechSpireBlock extends Block {
 
         double useLen = Math.min(BEAM_MAX_LEN, fullLen);
         Vec3d dir = diff.normalize();
-        Basis basis = makePerpBasis(dir);
 
         double t;
         double outerR;
@@ -649,57 +570,10 @@ public class HextechSpireBlock extends Block {
         double innerR = Math.max(0.02, outerR - thickness);
 
         int points = Math.max(14, Math.min(30, (int)(18 * Math.sqrt(scale))));
-        spawnRingBand(world, center, basis, innerR, outerR, points, 3);
-    }
-
-    private void spawnRingBand(ServerWorld world,
-                               Vec3d center, Basis basis,
-                               double innerR, double outerR,
-                               int points, int layers) {
-
-        layers = Math.max(2, layers);
-
-        for (int i = 0; i < layers; i++) {
-            double f = (double) i / (layers - 1);
-            double r = innerR + (outerR - innerR) * f;
-            spawnRing(world, center, basis, r, points);
-        }
-    }
-
-    private void spawnRing(ServerWorld world,
-                           Vec3d center, Basis basis,
-                           double radius, int points) {
-
-        double step = Math.PI * 2.0 / points;
-
-        for (int i = 0; i < points; i++) {
-            double a = i * step;
-            Vec3d offset =
-                    basis.u.multiply(Math.cos(a) * radius)
-                            .add(basis.v.multiply(Math.sin(a) * radius));
-            Vec3d p = center.add(offset);
-
-            world.spawnParticles(CYAN, p.x, p.y, p.z,
-                    1, 0.0, 0.0, 0.0, 0.0);
-        }
-    }
-
-    private Basis makePerpBasis(Vec3d dir) {
-        Vec3d a = Math.abs(dir.x) < 0.9
-                ? new Vec3d(1, 0, 0)
-                : new Vec3d(0, 1, 0);
-
-        Vec3d u = dir.crossProduct(a).normalize();
-        if (u.lengthSquared() < 1e-6) {
-            a = new Vec3d(0, 0, 1);
-            u = dir.crossProduct(a).normalize();
-        }
-
-        Vec3d v = dir.crossProduct(u).normalize();
-        return new Basis(u, v);
+        fx.ringBand(center, dir, innerR, outerR, points, 3);
     }
 
-    private void stepStage(ShotData data, int expectedStage, int duration) {
+    private void stepStage(HextechSpireBlockEntity data, int expectedStage, int duration) {
         data.timer += VISUAL_TICK_INTERVAL;
         if (data.stage == expectedStage && data.timer >= duration) {
             data.stage++;
@@ -710,14 +584,4 @@ public class HextechSpireBlock extends Block {
     /* ========== ring visuals ========== */
 
     private enum RingSize { LARGE, MEDIUM, SMALL }
-
-    private static class Basis {
-        final Vec3d u;
-        final Vec3d v;
-
-        Basis(Vec3d u, Vec3d v) {
-            this.u = u;
-            this.v = v;
-        }
-    }
 }
\ No newline at end of file
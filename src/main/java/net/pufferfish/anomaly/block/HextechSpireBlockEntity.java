@@ -0,0 +1,173 @@
+package net.pufferfish.anomaly.block;
+
+import java.util.UUID;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+
+import net.pufferfish.anomaly.block.entity.ModBlockEntities;
+
+/**
+ * Per-spire runtime state: owner, soft lock, the shot in flight and its cooldown.
+ *
+ * Lives with the chunk, so it is per-dimension, saved with the world and freed on unload. The
+ * dormant flag is not saved: a spire always wakes on load and goes back to sleep if idle.
+ */
+public class HextechSpireBlockEntity extends BlockEntity {
+    // placer, exempt from this spire
+    UUID owner;
+
+    // soft lock (targeting but not shooting yet)
+    UUID softTarget;
+
+    // shot state
+    UUID target;
+    Vec3d from, to;
+    double scale;
+    int level, stage, timer, cooldown;
+
+    // tracking stability
+    int losMisses;
+
+    // idle; the ticker skips this spire until SpireDormancy or a neighbor update wakes it
+    private boolean dormant;
+
+    public HextechSpireBlockEntity(BlockPos pos, BlockState state) {
+        super(ModBlockEntities.HEXTECH_SPIRE, pos, state);
+    }
+
+    /* -------------------- Owner -------------------- */
+
+    public UUID getOwner() { return owner; }
+
+    public void setOwner(UUID owner) {
+        this.owner = owner;
+        markDirty();
+    }
+
+    boolean isOwner(UUID player) {
+        return owner != null && owner.equals(player);
+    }
+
+    /* -------------------- Dormancy -------------------- */
+
+    boolean isDormant() { return dormant; }
+
+    void sleep() { dormant = true; }
+
+    void wake() { dormant = false; }
+
+    /* -------------------- Shot -------------------- */
+
+    boolean active() { return target != null; }
+    boolean hasSoft() { return softTarget != null; }
+
+    void start(UUID t, Vec3d f, Vec3d to, double s, int l) {
+        target = t;
+        from = f;
+        this.to = to;
+        scale = s;
+        level = l;
+        stage = 0;
+        timer = 0;
+        losMisses = 0;
+
+        // once we start a real shot, clear soft-lock
+        softTarget = null;
+        markDirty();
+    }
+
+    LivingEntity resolveTarget(ServerWorld w) {
+        if (target == null) return null;
+        Entity e = w.getEntity(target);
+        return e instanceof LivingEntity le ? le : null;
+    }
+
+    LivingEntity resolveSoft(ServerWorld w) {
+        if (softTarget == null) return null;
+        Entity e = w.getEntity(softTarget);
+        return e instanceof LivingEntity le ? le : null;
+    }
+
+    // reset only the current shot (keeps softTarget so it can start when LOS becomes true)
+    void resetShotOnly() {
+        target = null;
+        stage = 0;
+        timer = 0;
+        losMisses = 0;
+        markDirty();
+    }
+
+    // drop everything (used when disabled, or when soft target becomes invalid)
+    void resetAll() {
+        target = null;
+        softTarget = null;
+        stage = 0;
+        timer = 0;
+        losMisses = 0;
+        cooldown = 0;
+        markDirty();
+    }
+
+    /* -------------------- Persistence -------------------- */
+
+    @Override
+    public void writeNbt(NbtCompound nbt) {
+        super.writeNbt(nbt);
+        if (owner != null) nbt.putUuid("owner", owner);
+        if (softTarget != null) nbt.putUuid("soft", softTarget);
+        if (target != null && from != null && to != null) {
+            nbt.putUuid("target", target);
+            putVec(nbt, "from", from);
+            putVec(nbt, "to", to);
+            nbt.putDouble("scale", scale);
+            nbt.putInt("level", level);
+            nbt.putInt("stage", stage);
+            nbt.putInt("timer", timer);
+            nbt.putInt("losMisses", losMisses);
+        }
+        nbt.putInt("cooldown", cooldown);
+    }
+
+    @Override
+    public void readNbt(NbtCompound nbt) {
+        super.readNbt(nbt);
+        owner = nbt.containsUuid("owner") ? nbt.getUuid("owner") : null;
+        softTarget = nbt.containsUuid("soft") ? nbt.getUuid("soft") : null;
+        if (nbt.containsUuid("target")) {
+            target = nbt.getUuid("target");
+            from = getVec(nbt, "from");
+            to = getVec(nbt, "to");
+            scale = nbt.getDouble("scale");
+            level = nbt.getInt("level");
+            stage = nbt.getInt("stage");
+            timer = nbt.getInt("timer");
+            losMisses = nbt.getInt("losMisses");
+        } else {
+            target = null;
+            stage = 0;
+            timer = 0;
+            losMisses = 0;
+        }
+        cooldown = nbt.getInt("cooldown");
+    }
+
+    private static void putVec(NbtCompound nbt, String key, Vec3d v) {
+        NbtCompound c = new NbtCompound();
+        c.putDouble("x", v.x);
+        c.putDouble("y", v.y);
+        c.putDouble("z", v.z);
+        nbt.put(key, c);
+    }
+
+    private static Vec3d getVec(NbtCompound nbt, String key) {
+        NbtCompound c = nbt.getCompound(key);
+        return new Vec3d(c.getDouble("x"), c.getDouble("y"), c.getDouble("z"));
+    }
+}
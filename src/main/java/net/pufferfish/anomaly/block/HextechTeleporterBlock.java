@@ -2,10 +2,8 @@ package net.pufferfish.anomaly.block;
 
 import java.util.ArrayDeque;
 import java.util.EnumMap;
-import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,7 +14,6 @@ import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemStack;
-import net.minecraft.particle.DustParticleEffect;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
@@ -28,13 +25,13 @@ import net.minecraft.util.Hand;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
-import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.world.World;
+import net.pufferfish.anomaly.mesh.HextechNetworkIndex;
+import net.pufferfish.anomaly.net.HextechEffects;
 import net.pufferfish.anomaly.world.HextechTeleporterState;
 import org.jetbrains.annotations.Nullable;
-import org.joml.Vector3f;
 
 /**
  * HextechTeleporterBlock — global-cooldown (Overworld time) fix for ping-pong.
@@ -44,12 +41,11 @@ import org.joml.Vector3f;
  */
 public class HextechTeleporterBlock extends Block {
     /* ---------- visuals ---------- */
-    private static final DustParticleEffect CYAN = new DustParticleEffect(new Vector3f(0f, 1f, 1f), 1.0f);
+    private static final int CYAN = 0x00FFFF;
     private static final double BEAM_MAX_LEN = 50.0;
     private static final double RING_FORWARD_OFFSET = 2.0;
 
     /* ---------- networking / range ---------- */
-    private static final int MAX_MESH_SCAN = 8192;
     private static final int RANGE_PER_MESH = 10;
 
     /* ---------- behavior ---------- */
@@ -115,7 +111,8 @@ public class HextechTeleporterBlock extends Block {
         super.onBlockAdded(state, world, pos, oldState, notify);
         if (!world.isClient) {
             ServerWorld sw = (ServerWorld) world;
-            if (!REQUIRE_REDSTONE || sw.isReceivingRedstonePower(pos)) {
+            HextechPower.refresh(sw, pos);
+            if (!REQUIRE_REDSTONE || HextechPower.isPowered(sw, pos)) {
                 sw.scheduleBlockTick(pos, this, 1);
             }
         }
@@ -124,9 +121,10 @@ public class HextechTeleporterBlock extends Block {
     @Override
     public void neighborUpdate(BlockState state, World world, BlockPos pos, Block block, BlockPos fromPos, boolean notify) {
         super.neighborUpdate(state, world, pos, block, fromPos, notify);
-        if (!world.isClient && REQUIRE_REDSTONE) {
+        if (!world.isClient) {
             ServerWorld sw = (ServerWorld) world;
-            if (sw.isReceivingRedstonePower(pos)) {
+            HextechPower.refresh(sw, pos);
+            if (REQUIRE_REDSTONE && HextechPower.isPowered(sw, pos)) {
                 sw.scheduleBlockTick(pos, this, 1);
             }
         }
@@ -143,9 +141,11 @@ public class HextechTeleporterBlock extends Block {
         ServerWorld sw = (ServerWorld) world;
         int mesh = countDiamondMeshViaConnectors(sw, pos);
         int range = mesh * RANGE_PER_MESH;
-        boolean powered = !REQUIRE_REDSTONE || sw.isReceivingRedstonePower(pos);
+        boolean powered = !REQUIRE_REDSTONE || HextechPower.isPowered(sw, pos);
+        boolean partial = HextechNetworkIndex.get(sw).reachesUnloaded(pos);
         player.sendMessage(Text.literal("Hextech Teleporter: range=" + range +
-                " (meshes=" + mesh + ", " + (powered ? "active" : "inactive") + ")"), true);
+                " (meshes=" + mesh + ", " + (powered ? "active" : "inactive") +
+                (partial ? ", network continues into unloaded chunk" : "") + ")"), true);
         return ActionResult.SUCCESS;
     }
 
@@ -163,6 +163,7 @@ public class HextechTeleporterBlock extends Block {
                                 BlockState newState, boolean moved) {
         if (world instanceof ServerWorld sw && !newState.isOf(this)) {
             HextechTeleporterState.get(sw).remove(pos);
+            HextechPower.forget(sw, pos);
         }
         super.onStateReplaced(state, world, pos, newState, moved);
     }
@@ -171,7 +172,7 @@ public class HextechTeleporterBlock extends Block {
     public void onSteppedOn(World world, BlockPos pos, BlockState state, Entity entity) {
         if (world.isClient) { super.onSteppedOn(world, pos, state, entity); return; }
         ServerWorld sw = (ServerWorld) world;
-        if (!REQUIRE_REDSTONE || sw.isReceivingRedstonePower(pos)) {
+        if (!REQUIRE_REDSTONE || HextechPower.isPowered(sw, pos)) {
             tryQueueTeleport(sw, pos, entity);
             sw.scheduleBlockTick(pos, this, 1);
         }
@@ -182,7 +183,7 @@ public class HextechTeleporterBlock extends Block {
 
     @Override
     public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
-        boolean powered = !REQUIRE_REDSTONE || world.isReceivingRedstonePower(pos);
+        boolean powered = !REQUIRE_REDSTONE || HextechPower.isPowered(world, pos);
 
         // 1) Scan 1×5×1 column above when active
         if (powered) {
@@ -287,7 +288,7 @@ public class HextechTeleporterBlock extends Block {
         if (until != null && now < until) { markEntered(pos, groupId); return; }
 
         if (IN_PROGRESS_GROUPS.contains(groupId)) { markEntered(pos, groupId); return; }
-        if (REQUIRE_REDSTONE && !sw.isReceivingRedstonePower(pos)) return;
+        if (REQUIRE_REDSTONE && !HextechPower.isPowered(sw, pos)) return;
 
         int meshCount = countDiamondMeshViaConnectors(sw, pos);
         if (meshCount <= 0) { markEntered(pos, groupId); return; }
@@ -371,10 +372,12 @@ public class HextechTeleporterBlock extends Block {
     }
 
     private void drawVisualsForStage(ServerWorld world, PendingEffect cur) {
-        if (cur.stage >= 0) spawnRingsAt(world, cur.from, cur.to, RingSize.LARGE,  cur.scale);
-        if (cur.stage >= 1) spawnRingsAt(world, cur.from, cur.to, RingSize.MEDIUM, cur.scale);
-        if (cur.stage >= 2) spawnRingsAt(world, cur.from, cur.to, RingSize.SMALL,  cur.scale);
-        if (cur.stage >= 3) spawnBeamOnly(world, cur.from, cur.to, BEAM_MAX_LEN, 50);
+        HextechEffects.Builder fx = HextechEffects.begin(CYAN, 1.0f);
+        if (cur.stage >= 0) spawnRingsAt(fx, cur.from, cur.to, RingSize.LARGE,  cur.scale);
+        if (cur.stage >= 1) spawnRingsAt(fx, cur.from, cur.to, RingSize.MEDIUM, cur.scale);
+        if (cur.stage >= 2) spawnRingsAt(fx, cur.from, cur.to, RingSize.SMALL,  cur.scale);
+        if (cur.stage >= 3) spawnBeamOnly(fx, cur.from, cur.to, BEAM_MAX_LEN, 50);
+        fx.send(world);
     }
 
     private static class PendingEffect {
@@ -401,79 +404,29 @@ public class HextechTeleporterBlock extends Block {
     /* ---------- connector / terminal lookup ---------- */
 
     private int countDiamondMeshViaConnectors(ServerWorld world, BlockPos teleporterPos) {
-        Set<BlockPos> visited = new HashSet<>();
-        Queue<BlockPos> q = new ArrayDeque<>();
-        for (Direction d : Direction.values()) {
-            BlockPos n = teleporterPos.offset(d);
-            BlockState s = world.getBlockState(n);
-            if (isConnector(s) || isDiamondMesh(s)) { q.add(n); visited.add(n); }
-        }
-        int count = 0;
-        int safety = 0;
-        while (!q.isEmpty() && safety++ < MAX_MESH_SCAN) {
-            BlockPos cur = q.remove();
-            BlockState cs = world.getBlockState(cur);
-            if (isDiamondMesh(cs)) count++;
-            if (isConnector(cs) || isDiamondMesh(cs)) {
-                for (Direction d : Direction.values()) {
-                    BlockPos nn = cur.offset(d);
-                    if (visited.contains(nn)) continue;
-                    BlockState ns = world.getBlockState(nn);
-                    if (isConnector(ns) || isDiamondMesh(ns)) { visited.add(nn); q.add(nn); }
-                }
-            }
-        }
-        return count;
+        return HextechNetworkIndex.get(world).meshCount(teleporterPos);
     }
 
     private BlockPos getTerminalPadViaConnectors(ServerWorld world, BlockPos teleporterPos) {
-        Set<BlockPos> visited = new HashSet<>();
-        Queue<BlockPos> q = new ArrayDeque<>();
-        for (Direction d : Direction.values()) {
-            BlockPos n = teleporterPos.offset(d);
-            BlockState s = world.getBlockState(n);
-            if (isConnector(s) || world.getBlockEntity(n) instanceof TeleporterTerminalBlockEntity) {
-                visited.add(n); q.add(n);
-            }
-        }
-        int safety = 0;
-        while (!q.isEmpty() && safety++ < 8192) {
-            BlockPos cur = q.remove();
-            var be = world.getBlockEntity(cur);
-            if (be instanceof TeleporterTerminalBlockEntity term) return term.getSelectedPad();
-            BlockState cs = world.getBlockState(cur);
-            if (isConnector(cs)) {
-                for (Direction d : Direction.values()) {
-                    BlockPos nn = cur.offset(d);
-                    if (visited.contains(nn)) continue;
-                    BlockState ns = world.getBlockState(nn);
-                    if (isConnector(ns) || world.getBlockEntity(nn) instanceof TeleporterTerminalBlockEntity) {
-                        visited.add(nn); q.add(nn);
-                    }
-                }
-            }
-        }
-        return null;
+        BlockPos terminal = HextechNetworkIndex.get(world).findTerminal(teleporterPos);
+        if (terminal == null) return null;
+        return world.getBlockEntity(terminal) instanceof TeleporterTerminalBlockEntity term ? term.getSelectedPad() : null;
     }
 
-    private boolean isDiamondMesh(BlockState s) { return s.isOf(ModBlocks.DIAMOND_MESH); }
-    private boolean isConnector(BlockState s)    { return s.isOf(ModBlocks.CABLE_CONNECTOR); }
-
     /* ---------- ring/beam helpers ---------- */
 
     private enum RingSize { LARGE, MEDIUM, SMALL }
 
     /** Spawn ONE flat ring band for a given size, scaled by entity, near the origin side of the beam. */
-    private void spawnRingsAt(ServerWorld world, Vec3d from, Vec3d to, RingSize size, double scale) {
+    private void spawnRingsAt(HextechEffects.Builder fx, Vec3d from, Vec3d to, RingSize size, double scale) {
         Vec3d diff = to.subtract(from);
         double fullLen = diff.length();
         if (fullLen < 1e-6) {
-            world.spawnParticles(CYAN, from.x, from.y, from.z, 4, 0.004, 0.004, 0.004, 0.0);
+            fx.burst(from, 4, 0.004);
             return;
         }
         double useLen = Math.min(BEAM_MAX_LEN, fullLen);
         Vec3d dir = diff.normalize();
-        Basis basis = makePerpBasis(dir);
 
         // base positions along path
         double tLarge  = 0.08;
@@ -521,55 +474,21 @@ public class HextechTeleporterBlock extends Block {
         }
 
         double innerR = Math.max(0.02, outerR - thickness);
-        spawnRingBand(world, center, basis, innerR, outerR, pointsPerRing, radialLayers);
+        fx.ringBand(center, dir, innerR, outerR, pointsPerRing, radialLayers);
     }
 
     /** Draw only the cyan beam segment (no rings). */
-    private void spawnBeamOnly(ServerWorld world, Vec3d from, Vec3d to, double maxLen, int steps) {
+    private void spawnBeamOnly(HextechEffects.Builder fx, Vec3d from, Vec3d to, double maxLen, int steps) {
         Vec3d diff = to.subtract(from);
         double fullLen = diff.length();
         if (fullLen < 1e-6) {
-            world.spawnParticles(CYAN, from.x, from.y, from.z, 3, 0.005, 0.005, 0.005, 0.0);
+            fx.burst(from, 3, 0.005);
             return;
         }
         double useLen = Math.min(maxLen, fullLen);
-        Vec3d dir = diff.normalize();
-        int n = Math.max(2, steps);
-        for (int i = 0; i <= n; i++) {
-            double t = (double) i / (double) n;
-            Vec3d p = from.add(dir.multiply(useLen * t));
-            world.spawnParticles(CYAN, p.x, p.y, p.z, 2, 0.002, 0.002, 0.002, 0.0);
-        }
-    }
-
-    private void spawnRingBand(ServerWorld world, Vec3d center, Basis basis, double innerR, double outerR, int points, int layers) {
-        if (outerR <= innerR) { spawnRing(world, center, basis, outerR, points); return; }
-        layers = Math.max(2, layers);
-        for (int li = 0; li < layers; li++) {
-            double f = (layers == 1) ? 1.0 : (double) li / (double) (layers - 1);
-            double r = innerR + (outerR - innerR) * f;
-            spawnRing(world, center, basis, r, points);
-        }
-    }
-
-    private void spawnRing(ServerWorld world, Vec3d center, Basis basis, double radius, int points) {
-        double step = (Math.PI * 2.0) / points;
-        for (int k = 0; k < points; k++) {
-            double a = k * step;
-            Vec3d offset = basis.u.multiply(Math.cos(a) * radius).add(basis.v.multiply(Math.sin(a) * radius));
-            Vec3d q = center.add(offset);
-            world.spawnParticles(CYAN, q.x, q.y, q.z, 1, 0.0, 0.0, 0.0, 0.0);
-        }
-    }
-
-    private Basis makePerpBasis(Vec3d dir) {
-        Vec3d a = Math.abs(dir.x) < 0.9 ? new Vec3d(1, 0, 0) : new Vec3d(0, 1, 0);
-        Vec3d u = dir.crossProduct(a).normalize();
-        if (u.lengthSquared() < 1e-6) { a = new Vec3d(0, 0, 1); u = dir.crossProduct(a).normalize(); }
-        Vec3d v = dir.crossProduct(u).normalize();
-        return new Basis(u, v);
+        Vec3d end = from.add(diff.normalize().multiply(useLen));
+        fx.beam(from, end, Math.max(2, steps), 2, 0.002);
     }
-    private static class Basis { final Vec3d u, v; Basis(Vec3d u, Vec3d v) { this.u = u; this.v = v; } }
 
     /* ---------- util & teleport (player-rider safe) ---------- */
 
@@ -1,9 +1,6 @@
 package net.pufferfish.anomaly.block;
 
 import java.util.ArrayDeque;
-import java.util.HashSet;
-import java.util.Queue;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -26,12 +23,13 @@ import net.minecraft.util.StringIdentifiable;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
-import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.world.Heightmap;
 import net.pufferfish.anomaly.item.ModItems;
+import net.pufferfish.anomaly.mesh.HextechNetworkIndex;
 import net.pufferfish.anomaly.sound.ModSounds;
+import net.pufferfish.anomaly.net.ParticleBroadcast;
 
 /**
  * OverchargedTeleporterBlock
@@ -63,12 +61,6 @@ public class OverchargedTeleporterBlock extends Block {
     /* ---------- behavior ---------- */
     private static final boolean REQUIRE_REDSTONE = true;
 
-    /* Network scan limits */
-    private static final int MAX_SCAN = 8192;
-
-    /* Redstone rising-edge memory */
-    private static final ConcurrentHashMap<BlockPos, Boolean> WAS_POWERED = new ConcurrentHashMap<>();
-
     /* Pending strikes per teleporter */
     private static final ConcurrentHashMap<BlockPos, ArrayDeque<PendingStrike>> PENDING = new ConcurrentHashMap<>();
 
@@ -151,8 +143,8 @@ public class OverchargedTeleporterBlock extends Block {
         if (world.isClient) return;
 
         ServerWorld sw = (ServerWorld) world;
-        boolean poweredNow = !REQUIRE_REDSTONE || sw.isReceivingRedstonePower(pos);
-        WAS_POWERED.put(pos.toImmutable(), poweredNow);
+        HextechPower.refresh(sw, pos);
+        boolean poweredNow = !REQUIRE_REDSTONE || HextechPower.isPowered(sw, pos);
 
         if (poweredNow) {
             tryQueueStrikeOnPower(sw, pos, state);
@@ -168,15 +160,13 @@ public class OverchargedTeleporterBlock extends Block {
 
         ServerWorld sw = (ServerWorld) world;
 
-        boolean poweredNow = !REQUIRE_REDSTONE || sw.isReceivingRedstonePower(pos);
-        boolean poweredBefore = WAS_POWERED.getOrDefault(pos, false);
+        boolean risingEdge = HextechPower.refresh(sw, pos);
+        boolean poweredNow = !REQUIRE_REDSTONE || HextechPower.isPowered(sw, pos);
 
-        if (poweredNow && !poweredBefore) {
+        if (risingEdge) {
             tryQueueStrikeOnPower(sw, pos, state);
         }
 
-        WAS_POWERED.put(pos.toImmutable(), poweredNow);
-
         if (poweredNow || (PENDING.get(pos) != null && !PENDING.get(pos).isEmpty())) {
             sw.scheduleBlockTick(pos, this, 1);
         }
@@ -186,7 +176,7 @@ public class OverchargedTeleporterBlock extends Block {
     public void onStateReplaced(BlockState state, net.minecraft.world.World world, BlockPos pos,
                                 BlockState newState, boolean moved) {
         if (!newState.isOf(this)) {
-            WAS_POWERED.remove(pos);
+            if (world instanceof ServerWorld sw) HextechPower.forget(sw, pos);
             PENDING.remove(pos);
         }
         super.onStateReplaced(state, world, pos, newState, moved);
@@ -246,7 +236,7 @@ public class OverchargedTeleporterBlock extends Block {
     /* ---------- queueing ---------- */
 
     private void tryQueueStrikeOnPower(ServerWorld sw, BlockPos pos, BlockState state) {
-        if (REQUIRE_REDSTONE && !sw.isReceivingRedstonePower(pos)) return;
+        if (REQUIRE_REDSTONE && !HextechPower.isPowered(sw, pos)) return;
 
         int meshCount = countDiamondMeshViaConnectors(sw, pos);
         if (meshCount != 1) return;
@@ -369,83 +359,15 @@ public class OverchargedTeleporterBlock extends Block {
     /* ---------- connector / terminal lookup ---------- */
 
     private int countDiamondMeshViaConnectors(ServerWorld world, BlockPos teleporterPos) {
-        Set<BlockPos> visited = new HashSet<>();
-        Queue<BlockPos> q = new ArrayDeque<>();
-
-        for (Direction d : Direction.values()) {
-            BlockPos n = teleporterPos.offset(d);
-            BlockState s = world.getBlockState(n);
-            if (isConnector(s) || isDiamondMesh(s)) { q.add(n); visited.add(n); }
-        }
-
-        int count = 0;
-        int safety = 0;
-        while (!q.isEmpty() && safety++ < MAX_SCAN) {
-            BlockPos cur = q.remove();
-            BlockState cs = world.getBlockState(cur);
-
-            if (isDiamondMesh(cs)) count++;
-
-            if (isConnector(cs) || isDiamondMesh(cs)) {
-                for (Direction d : Direction.values()) {
-                    BlockPos nn = cur.offset(d);
-                    if (visited.contains(nn)) continue;
-
-                    BlockState ns = world.getBlockState(nn);
-                    if (isConnector(ns) || isDiamondMesh(ns)) {
-                        visited.add(nn);
-                        q.add(nn);
-                    }
-                }
-            }
-        }
-
-        return count;
+        return HextechNetworkIndex.get(world).meshCount(teleporterPos);
     }
 
     private BlockPos getStrikePosViaConnectors(ServerWorld world, BlockPos teleporterPos) {
-        Set<BlockPos> visited = new HashSet<>();
-        Queue<BlockPos> q = new ArrayDeque<>();
-
-        for (Direction d : Direction.values()) {
-            BlockPos n = teleporterPos.offset(d);
-            BlockState s = world.getBlockState(n);
-            if (isConnector(s) || world.getBlockEntity(n) instanceof TeleporterTerminalBlockEntity) {
-                visited.add(n);
-                q.add(n);
-            }
-        }
-
-        int safety = 0;
-        while (!q.isEmpty() && safety++ < MAX_SCAN) {
-            BlockPos cur = q.remove();
-
-            var be = world.getBlockEntity(cur);
-            if (be instanceof TeleporterTerminalBlockEntity term) {
-                return term.getSelectedPad();
-            }
-
-            BlockState cs = world.getBlockState(cur);
-            if (isConnector(cs)) {
-                for (Direction d : Direction.values()) {
-                    BlockPos nn = cur.offset(d);
-                    if (visited.contains(nn)) continue;
-
-                    BlockState ns = world.getBlockState(nn);
-                    if (isConnector(ns) || world.getBlockEntity(nn) instanceof TeleporterTerminalBlockEntity) {
-                        visited.add(nn);
-                        q.add(nn);
-                    }
-                }
-            }
-        }
-
-        return null;
+        BlockPos terminal = HextechNetworkIndex.get(world).findTerminal(teleporterPos);
+        if (terminal == null) return null;
+        return world.getBlockEntity(terminal) instanceof TeleporterTerminalBlockEntity term ? term.getSelectedPad() : null;
     }
 
-    private boolean isDiamondMesh(BlockState s) { return s.isOf(ModBlocks.DIAMOND_MESH); }
-    private boolean isConnector(BlockState s)    { return s.isOf(ModBlocks.CABLE_CONNECTOR); }
-
     /* ---------- global time helper (Overworld) ---------- */
 
     private long globalGameTime(ServerWorld world) {
@@ -457,7 +379,7 @@ public class OverchargedTeleporterBlock extends Block {
         if (!(st.getBlock() instanceof OverchargedTeleporterBlock block)) return false;
 
         // Optional safety checks (keep it consistent with your block logic)
-        if (REQUIRE_REDSTONE && !world.isReceivingRedstonePower(teleporterPos)) return false;
+        if (REQUIRE_REDSTONE && !HextechPower.isPowered(world, teleporterPos)) return false;
 
         int meshCount = block.countDiamondMeshViaConnectors(world, teleporterPos);
         if (meshCount != 1) return false;
@@ -484,30 +406,33 @@ public class OverchargedTeleporterBlock extends Block {
         Vec3d diff = to.subtract(from);
         double len = diff.length();
         if (len < 1e-6) {
-            world.spawnParticles(ParticleTypes.ELECTRIC_SPARK, from.x, from.y, from.z, 40, 0.2, 0.2, 0.2, 0.02);
+            ParticleBroadcast.spawn(world, ParticleTypes.ELECTRIC_SPARK, from.x, from.y, from.z, 40, 0.2, 0.2, 0.2, 0.02);
             return;
         }
 
         // Burst at the teleporter
-        world.spawnParticles(ParticleTypes.END_ROD, from.x, from.y, from.z, 30, 0.15, 0.15, 0.15, 0.01);
-        world.spawnParticles(ParticleTypes.ELECTRIC_SPARK, from.x, from.y, from.z, 60, 0.25, 0.25, 0.25, 0.03);
+        ParticleBroadcast.spawn(world, ParticleTypes.END_ROD, from.x, from.y, from.z, 30, 0.15, 0.15, 0.15, 0.01);
+        ParticleBroadcast.spawn(world, ParticleTypes.ELECTRIC_SPARK, from.x, from.y, from.z, 60, 0.25, 0.25, 0.25, 0.03);
 
         // Beam trail (cap steps so it doesn't spam too hard)
         int steps = (int) Math.min(250, Math.max(20, len * 2.0));
         Vec3d step = diff.multiply(1.0 / steps);
+        int stride = ParticleBroadcast.request(world, ParticleBroadcast.Priority.CRITICAL, (steps + 1) * 2 + steps / 6 + 1);
 
         Vec3d p = from;
-        for (int i = 0; i <= steps; i++) {
+        for (int i = 0; i <= steps; i++, p = p.add(step)) {
+            if (i % stride != 0 && i != steps) continue;
             // low count per step = nice continuous beam without insane packet spam
-            world.spawnParticles(ParticleTypes.ELECTRIC_SPARK, p.x, p.y, p.z, 2, 0.02, 0.02, 0.02, 0.0);
+            ParticleBroadcast.spawn(world, ParticleTypes.ELECTRIC_SPARK, p.x, p.y, p.z, 2, 0.02, 0.02, 0.02, 0.0,
+                    ParticleBroadcast.series(i, steps));
             if ((i % 6) == 0) {
-                world.spawnParticles(ParticleTypes.END_ROD, p.x, p.y, p.z, 1, 0.0, 0.0, 0.0, 0.0);
+                ParticleBroadcast.spawn(world, ParticleTypes.END_ROD, p.x, p.y, p.z, 1, 0.0, 0.0, 0.0, 0.0,
+                        ParticleBroadcast.Lod.MID);
             }
-            p = p.add(step);
         }
 
         // Small burst at target
-        world.spawnParticles(ParticleTypes.ELECTRIC_SPARK, to.x, to.y, to.z, 50, 0.3, 0.3, 0.3, 0.04);
+        ParticleBroadcast.spawn(world, ParticleTypes.ELECTRIC_SPARK, to.x, to.y, to.z, 50, 0.3, 0.3, 0.3, 0.04);
     }
     private static void protectPlayersNearTarget(ServerWorld world, BlockPos target) {
         Box box = new Box(target).expand(PLAYER_PROTECT_RADIUS);
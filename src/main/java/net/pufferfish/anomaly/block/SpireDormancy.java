@@ -0,0 +1,151 @@
+package net.pufferfish.anomaly.block;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+
+/**
+ * Idle spires flag their block entity dormant (its ticker returns straight away) and park here.
+ *
+ * A dormant spire is registered under every chunk section its scan box touches. It is woken
+ * (its dormant flag cleared) when:
+ * - a living entity crosses into one of those sections (see LivingEntityMixin)
+ * - the heartbeat comes round, which catches mesh changes that send no neighbor update
+ *
+ * Heartbeats are staggered: each spire gets a phase from its position, and every tick only the
+ * spires in that tick's phase wake, so a base full of idle spires does not re-scan all at once.
+ *
+ * The flag is not saved, so a spire whose chunk reloads starts awake and re-registers itself.
+ *
+ * Redstone and neighbor changes wake it through {@link HextechSpireBlock#neighborUpdate} as before.
+ */
+public final class SpireDormancy {
+
+    /** Every dormant spire re-checks itself this often, whatever happens around it. */
+    private static final int HEARTBEAT_TICKS = 40;
+
+    private static final Map<RegistryKey<World>, Dormant> WORLDS = new ConcurrentHashMap<>();
+
+    private SpireDormancy() {}
+
+    public static void init() {
+        ServerTickEvents.END_WORLD_TICK.register(SpireDormancy::tick);
+        ServerWorldEvents.UNLOAD.register((server, world) -> WORLDS.remove(world.getRegistryKey()));
+    }
+
+    /* ---------- spire side ---------- */
+
+    public static void sleep(ServerWorld world, BlockPos spire, int radius) {
+        Dormant d = WORLDS.computeIfAbsent(world.getRegistryKey(), k -> new Dormant());
+        long key = spire.asLong();
+        if (!d.spires.add(key)) return;
+        d.byPhase[phase(key)].add(key);
+
+        int minX = ChunkSectionPos.getSectionCoord(spire.getX() - radius);
+        int minY = ChunkSectionPos.getSectionCoord(spire.getY() - radius);
+        int minZ = ChunkSectionPos.getSectionCoord(spire.getZ() - radius);
+        int maxX = ChunkSectionPos.getSectionCoord(spire.getX() + radius + 1);
+        int maxY = ChunkSectionPos.getSectionCoord(spire.getY() + radius + 1);
+        int maxZ = ChunkSectionPos.getSectionCoord(spire.getZ() + radius + 1);
+
+        LongArrayList watched = new LongArrayList();
+        for (int sx = minX; sx <= maxX; sx++) {
+            for (int sy = minY; sy <= maxY; sy++) {
+                for (int sz = minZ; sz <= maxZ; sz++) {
+                    long section = ChunkSectionPos.asLong(sx, sy, sz);
+                    d.bySection.computeIfAbsent(section, k -> new LongOpenHashSet()).add(key);
+                    watched.add(section);
+                }
+            }
+        }
+        d.watched.put(key, watched);
+    }
+
+    /** The spire is gone (broken, replaced); drop it without waking anything. */
+    public static void forget(ServerWorld world, BlockPos spire) {
+        Dormant d = WORLDS.get(world.getRegistryKey());
+        if (d != null) d.remove(spire.asLong());
+    }
+
+    /* ---------- wake sources ---------- */
+
+    /** A living entity moved into a new chunk section. */
+    public static void onEntitySectionChanged(ServerWorld world, long section) {
+        Dormant d = WORLDS.get(world.getRegistryKey());
+        if (d == null || d.spires.isEmpty()) return;
+
+        LongOpenHashSet spires = d.bySection.get(section);
+        if (spires != null) d.wake.addAll(spires);
+    }
+
+    private static void tick(ServerWorld world) {
+        Dormant d = WORLDS.get(world.getRegistryKey());
+        if (d == null) return;
+
+        LongOpenHashSet due = d.byPhase[(int) Math.floorMod(world.getTime(), HEARTBEAT_TICKS)];
+        if (!due.isEmpty()) d.wake.addAll(due);
+        if (d.wake.isEmpty()) return;
+
+        LongIterator it = d.wake.iterator();
+        while (it.hasNext()) {
+            long key = it.nextLong();
+            d.remove(key);
+
+            BlockPos pos = BlockPos.fromLong(key);
+            if (!world.isChunkLoaded(pos)) continue;
+
+            if (world.getBlockEntity(pos) instanceof HextechSpireBlockEntity spire) spire.wake();
+        }
+        d.wake.clear();
+    }
+
+    /** Heartbeat slot of a spire, spread by a hash of its position. */
+    private static int phase(long spire) {
+        return (int) Math.floorMod(HashCommon.mix(spire), (long) HEARTBEAT_TICKS);
+    }
+
+    /* ---------- per-world state ---------- */
+
+    private static final class Dormant {
+        final LongOpenHashSet spires = new LongOpenHashSet();
+        /** Heartbeat phase -> dormant spires that wake on it. */
+        final LongOpenHashSet[] byPhase = new LongOpenHashSet[HEARTBEAT_TICKS];
+        /** Chunk section -> dormant spires whose scan box touches it. */
+        final Long2ObjectOpenHashMap<LongOpenHashSet> bySection = new Long2ObjectOpenHashMap<>();
+        /** Spire -> sections it is registered under, for removal. */
+        final Long2ObjectOpenHashMap<LongArrayList> watched = new Long2ObjectOpenHashMap<>();
+        /** Spires to wake at the end of this tick. */
+        final LongOpenHashSet wake = new LongOpenHashSet();
+
+        Dormant() {
+            for (int i = 0; i < byPhase.length; i++) byPhase[i] = new LongOpenHashSet();
+        }
+
+        void remove(long spire) {
+            if (!spires.remove(spire)) return;
+            byPhase[phase(spire)].remove(spire);
+
+            LongArrayList sections = watched.remove(spire);
+            if (sections == null) return;
+            for (int i = 0; i < sections.size(); i++) {
+                long section = sections.getLong(i);
+                LongOpenHashSet set = bySection.get(section);
+                if (set == null) continue;
+                set.remove(spire);
+                if (set.isEmpty()) bySection.remove(section);
+            }
+        }
+    }
+}
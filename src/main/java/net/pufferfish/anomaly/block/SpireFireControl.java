@@ -0,0 +1,242 @@
+package net.pufferfish.anomaly.block;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import net.pufferfish.anomaly.util.LivingEntityGrid;
+
+/**
+ * Fire control for spires sharing a diamond-mesh network.
+ *
+ * Every spire that asks for a target joins the network's roster and stays on it while it keeps
+ * asking between shots. Only a spire's very first request uses its own search; after that, answers
+ * come from the network:
+ * - a spire left without a target gets the entry the end-of-tick plan made for it
+ * - a spire coming back from a shot or cooldown (no plan entry yet) picks from the network's
+ *   candidates, with its own range gathered into them, skipping targets planned for or engaged by
+ *   others
+ *
+ * At the end of a tick that left spires without a target, the network gathers the living entities
+ * in those spires' ranges into one de-duplicated list and matches them greedily:
+ * - targets closest to the defence first, each to the nearest free spire that accepts it
+ * - targets another spire of the network is already shooting go last, so spires only double up
+ *   when nothing else is in reach
+ */
+public final class SpireFireControl {
+
+    /** Roster members that stop asking for this long are dropped (longer than a shot plus cooldown). */
+    private static final int ROSTER_TICKS = 20 * 15;
+
+    private static final Map<RegistryKey<World>, Int2ObjectOpenHashMap<Net>> NETS = new ConcurrentHashMap<>();
+
+    private SpireFireControl() {}
+
+    public static void init() {
+        ServerTickEvents.END_WORLD_TICK.register(SpireFireControl::tick);
+        ServerWorldEvents.UNLOAD.register((server, world) -> NETS.remove(world.getRegistryKey()));
+    }
+
+    /* ---------- spire side ---------- */
+
+    /**
+     * Target for an idle spire on {@code network}, or null if there is none for it this tick.
+     * {@code accept} re-checks targets planned or gathered a tick ago; {@code fallback} is only used
+     * on the spire's first request, before the network has gathered anything for its range.
+     */
+    @Nullable
+    static LivingEntity request(ServerWorld world, int network, BlockPos spire, Vec3d origin, Box range,
+                                Predicate<LivingEntity> accept, Supplier<LivingEntity> fallback) {
+        Net net = NETS.computeIfAbsent(world.getRegistryKey(), k -> new Int2ObjectOpenHashMap<>())
+                .computeIfAbsent(network, k -> new Net());
+
+        long key = spire.asLong();
+        boolean first = !net.roster.containsKey(key);
+        net.roster.put(key, new Member(origin, range, accept, world.getTime()));
+
+        LivingEntity target;
+        if (net.plan.containsKey(key)) {
+            target = net.plan.remove(key);
+            if (target != null && (!target.isAlive() || !accept.test(target))) target = null;
+        } else if (first) {
+            target = fallback.get();
+        } else {
+            target = net.pick(world, range, accept);
+        }
+
+        if (target != null) {
+            net.engaged.add(target.getUuid());
+        } else {
+            net.free.add(key);
+        }
+        return target;
+    }
+
+    /** A spire on {@code network} is mid-shot at {@code target}. */
+    static void engaged(ServerWorld world, int network, UUID target) {
+        Int2ObjectOpenHashMap<Net> nets = NETS.get(world.getRegistryKey());
+        if (nets == null) return;
+        Net net = nets.get(network);
+        if (net != null) net.engaged.add(target);
+    }
+
+    /* ---------- planning ---------- */
+
+    private static void tick(ServerWorld world) {
+        Int2ObjectOpenHashMap<Net> nets = NETS.get(world.getRegistryKey());
+        if (nets == null || nets.isEmpty()) return;
+
+        long now = world.getTime();
+        for (Net net : nets.values()) {
+            net.roster.values().removeIf(m -> now - m.askedAt() > ROSTER_TICKS);
+        }
+        // Ids change when a network is rebuilt; old ones empty out and go
+        nets.values().removeIf(net -> net.roster.isEmpty());
+        for (Net net : nets.values()) net.plan(world);
+    }
+
+    private record Member(Vec3d origin, Box range, Predicate<LivingEntity> accept, long askedAt) {}
+
+    private static final class Net {
+        /** Spires that asked recently, by position. */
+        final Long2ObjectOpenHashMap<Member> roster = new Long2ObjectOpenHashMap<>();
+        /** Roster spires that asked this tick and are still without a target. */
+        final LongOpenHashSet free = new LongOpenHashSet();
+        /** Targets spires of this network are shooting or took this tick. */
+        final Set<UUID> engaged = new HashSet<>();
+        /** Spire -> target for the next tick (null value: nothing for it). */
+        final Long2ObjectOpenHashMap<LivingEntity> plan = new Long2ObjectOpenHashMap<>();
+        /** Living entities gathered since the last plan, in assignment order. */
+        final List<LivingEntity> candidates = new ArrayList<>();
+        /** Members of {@link #candidates}. */
+        private final ReferenceOpenHashSet<LivingEntity> gathered = new ReferenceOpenHashSet<>();
+        private final List<LivingEntity> scratch = new ArrayList<>();
+
+        /** First candidate in {@code range} that nobody else has, else one already engaged. */
+        @Nullable
+        LivingEntity pick(ServerWorld world, Box range, Predicate<LivingEntity> accept) {
+            if (gather(world, range)) rank();
+
+            Set<UUID> planned = new HashSet<>();
+            for (LivingEntity le : plan.values()) {
+                if (le != null) planned.add(le.getUuid());
+            }
+
+            LivingEntity shared = null;
+            for (LivingEntity le : candidates) {
+                if (!le.isAlive() || planned.contains(le.getUuid())) continue;
+                if (!range.intersects(le.getBoundingBox())) continue;
+                boolean taken = engaged.contains(le.getUuid());
+                if (taken && shared != null) continue;
+                if (!accept.test(le)) continue;
+                if (!taken) return le;
+                shared = le;
+            }
+            return shared;
+        }
+
+        void plan(ServerWorld world) {
+            plan.clear();
+            candidates.clear();
+            gathered.clear();
+            if (free.isEmpty()) {
+                engaged.clear();
+                return;
+            }
+
+            List<Long2ObjectMap.Entry<Member>> members = new ArrayList<>(roster.long2ObjectEntrySet());
+            for (Long2ObjectMap.Entry<Member> e : members) {
+                if (free.contains(e.getLongKey())) gather(world, e.getValue().range());
+            }
+            rank();
+
+            assign(members);
+            free.clear();
+            engaged.clear();
+        }
+
+        /** Adds the living entities in {@code range} not gathered yet; true if there were any. */
+        private boolean gather(ServerWorld world, Box range) {
+            scratch.clear();
+            LivingEntityGrid.get(world).collect(range, scratch);
+            boolean added = false;
+            for (LivingEntity le : scratch) {
+                if (gathered.add(le)) {
+                    candidates.add(le);
+                    added = true;
+                }
+            }
+            return added;
+        }
+
+        /** Engaged targets last, then closest to any spire of the network first. */
+        private void rank() {
+            candidates.sort(Comparator
+                    .comparing((LivingEntity le) -> engaged.contains(le.getUuid()))
+                    .thenComparingDouble(le -> nearestSq(le.getPos())));
+        }
+
+        private void assign(List<Long2ObjectMap.Entry<Member>> members) {
+            List<Long2ObjectMap.Entry<Member>> spires = new ArrayList<>(free.size());
+            for (Long2ObjectMap.Entry<Member> e : members) {
+                if (!free.contains(e.getLongKey())) continue;
+                spires.add(e);
+                plan.put(e.getLongKey(), null);
+            }
+            if (candidates.isEmpty()) return;
+
+            List<Long2ObjectMap.Entry<Member>> inReach = new ArrayList<>();
+            int left = spires.size();
+            for (LivingEntity target : candidates) {
+                Vec3d at = target.getPos();
+                inReach.clear();
+                for (Long2ObjectMap.Entry<Member> e : spires) {
+                    if (plan.get(e.getLongKey()) == null && e.getValue().range().intersects(target.getBoundingBox())) {
+                        inReach.add(e);
+                    }
+                }
+                if (inReach.isEmpty()) continue;
+                inReach.sort(Comparator.comparingDouble(e -> e.getValue().origin().squaredDistanceTo(at)));
+
+                for (Long2ObjectMap.Entry<Member> e : inReach) {
+                    if (!e.getValue().accept().test(target)) continue;
+                    plan.put(e.getLongKey(), target);
+                    left--;
+                    break;
+                }
+                if (left == 0) return;
+            }
+        }
+
+        private double nearestSq(Vec3d p) {
+            double best = Double.MAX_VALUE;
+            for (Member m : roster.values()) {
+                best = Math.min(best, m.origin().squaredDistanceTo(p));
+            }
+            return best;
+        }
+    }
+}
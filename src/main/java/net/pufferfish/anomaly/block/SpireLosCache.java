@@ -0,0 +1,62 @@
+package net.pufferfish.anomaly.block;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import it.unimi.dsi.fastutil.objects.Object2BooleanOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+/**
+ * Line-of-sight results memoized for the current world tick.
+ *
+ * A tracking spire asks for the same (origin, target) pair several times per tick (glowing,
+ * tracking, acquisition), and spires sharing an origin share the answer. Everything is dropped
+ * at the end of each world tick, so nothing here can go stale across ticks.
+ */
+public final class SpireLosCache {
+
+    private static final Map<RegistryKey<World>, Memo> MEMOS = new ConcurrentHashMap<>();
+
+    private SpireLosCache() {}
+
+    public static void init() {
+        ServerTickEvents.END_WORLD_TICK.register(SpireLosCache::endTick);
+        ServerWorldEvents.UNLOAD.register((server, world) -> MEMOS.remove(world.getRegistryKey()));
+    }
+
+    private static void endTick(ServerWorld world) {
+        Memo memo = MEMOS.get(world.getRegistryKey());
+        if (memo != null) memo.results.clear();
+    }
+
+    static boolean lineOfSight(ServerWorld world, Vec3d from, LivingEntity target, BooleanSupplier raycast) {
+        Memo memo = MEMOS.computeIfAbsent(world.getRegistryKey(), k -> new Memo());
+        long now = world.getTime();
+        if (memo.tick != now) {
+            // Entries added between ticks (e.g. on block use) must not leak into the next tick
+            memo.tick = now;
+            memo.results.clear();
+        }
+
+        Key key = new Key(from.x, from.y, from.z, target.getId());
+        if (memo.results.containsKey(key)) return memo.results.getBoolean(key);
+
+        boolean los = raycast.getAsBoolean();
+        memo.results.put(key, los);
+        return los;
+    }
+
+    private record Key(double x, double y, double z, int target) {}
+
+    private static final class Memo {
+        long tick = Long.MIN_VALUE;
+        final Object2BooleanOpenHashMap<Key> results = new Object2BooleanOpenHashMap<>();
+    }
+}
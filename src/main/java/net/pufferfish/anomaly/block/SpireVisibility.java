@@ -0,0 +1,361 @@
+package net.pufferfish.anomaly.block;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Coarse per-spire visibility over its scan cube.
+ *
+ * The cube is split into {@link #CELL}-block cells. A cell is classified on first use by walking
+ * the cone from the spire origin to the whole cell, one block slab at a time along the cone's main
+ * axis, and reading every voxel the slab's cross-section can touch:
+ * - VISIBLE: every such voxel has no collision, so no ray to any point of the cell can be stopped
+ * - BLOCKED: some slab between the origin and the cell is all full cubes, so every ray is stopped
+ * - AMBIGUOUS: anything else - callers fall back to a raycast
+ *
+ * A block change inside the cube (see ServerWorldMixin) only forgets the cells in the changed
+ * block's shadow, i.e. the cells whose cones contain it; they are re-classified lazily. Volumes are
+ * indexed by the chunk sections they overlap, so a change only looks at the volumes around it, and
+ * a volume is freed when its spire's chunk unloads.
+ */
+public final class SpireVisibility {
+
+    static final byte UNKNOWN = 0;
+    static final byte VISIBLE = 1;
+    static final byte BLOCKED = 2;
+    static final byte AMBIGUOUS = 3;
+
+    private static final int CELL = 2;
+    /** Changes this close to the origin (Chebyshev, blocks) have no clear shadow; they reset the volume. */
+    private static final double NEAR_ORIGIN = 2.0;
+
+    private static final Map<RegistryKey<World>, Volumes> VOLUMES = new ConcurrentHashMap<>();
+
+    private SpireVisibility() {}
+
+    public static void init() {
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            Volumes v = VOLUMES.get(world.getRegistryKey());
+            if (v != null) v.dropChunk(chunk);
+        });
+        ServerWorldEvents.UNLOAD.register((server, world) -> VOLUMES.remove(world.getRegistryKey()));
+    }
+
+    /**
+     * Visibility of {@code point} from the spire's origin: VISIBLE, BLOCKED, or AMBIGUOUS when an
+     * exact raycast is needed (including points outside the cube or a different origin).
+     */
+    static byte lookup(ServerWorld world, BlockPos spire, Vec3d origin, int radius, Vec3d point) {
+        Volumes volumes = VOLUMES.computeIfAbsent(world.getRegistryKey(), k -> new Volumes());
+        Volume vol = volumes.bySpire.get(spire.asLong());
+        if (vol == null || vol.radius != radius || !vol.origin.equals(origin)) {
+            vol = new Volume(spire, origin, radius);
+            volumes.put(vol);
+        }
+        return vol.lookup(world, point);
+    }
+
+    static void forget(ServerWorld world, BlockPos spire) {
+        Volumes volumes = VOLUMES.get(world.getRegistryKey());
+        if (volumes != null) volumes.remove(spire.asLong());
+    }
+
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState oldState, BlockState newState) {
+        Volumes volumes = VOLUMES.get(world.getRegistryKey());
+        if (volumes == null) return;
+        List<Volume> near = volumes.bySection.get(ChunkSectionPos.asLong(
+                ChunkSectionPos.getSectionCoord(pos.getX()),
+                ChunkSectionPos.getSectionCoord(pos.getY()),
+                ChunkSectionPos.getSectionCoord(pos.getZ())));
+        if (near == null) return;
+
+        // Cheap containment first: a section is only partly covered by the cubes overlapping it
+        boolean inside = false;
+        for (Volume vol : near) {
+            if (vol.contains(pos.getX(), pos.getY(), pos.getZ())) {
+                inside = true;
+                break;
+            }
+        }
+        if (!inside) return;
+        if (shapeClass(world, pos, oldState) == shapeClass(world, pos, newState)) return;
+
+        for (Volume vol : near) {
+            if (vol.contains(pos.getX(), pos.getY(), pos.getZ())) vol.invalidateShadow(pos);
+        }
+    }
+
+    /** 0 = no collision, 1 = full cube, 2 = anything in between. */
+    private static int shapeClass(ServerWorld world, BlockPos pos, BlockState state) {
+        VoxelShape shape = state.getCollisionShape(world, pos);
+        if (shape.isEmpty()) return 0;
+        return state.isFullCube(world, pos) ? 1 : 2;
+    }
+
+    /** Axis (0 = x, 1 = y, 2 = z) along which {@code d} is longest. */
+    private static int mainAxis(double[] d) {
+        double ax = Math.abs(d[0]), ay = Math.abs(d[1]), az = Math.abs(d[2]);
+        return ax >= ay && ax >= az ? 0 : (ay >= az ? 1 : 2);
+    }
+
+    /** Volumes of one world, by spire and by every chunk section their cube overlaps. */
+    private static final class Volumes {
+        final Long2ObjectOpenHashMap<Volume> bySpire = new Long2ObjectOpenHashMap<>();
+        final Long2ObjectOpenHashMap<List<Volume>> bySection = new Long2ObjectOpenHashMap<>();
+
+        void put(Volume vol) {
+            remove(vol.spire);
+            bySpire.put(vol.spire, vol);
+            for (int sx = vol.minSection(0); sx <= vol.maxSection(0); sx++) {
+                for (int sy = vol.minSection(1); sy <= vol.maxSection(1); sy++) {
+                    for (int sz = vol.minSection(2); sz <= vol.maxSection(2); sz++) {
+                        bySection.computeIfAbsent(ChunkSectionPos.asLong(sx, sy, sz), k -> new ArrayList<>(2)).add(vol);
+                    }
+                }
+            }
+        }
+
+        void remove(long spire) {
+            Volume vol = bySpire.remove(spire);
+            if (vol == null) return;
+            for (int sx = vol.minSection(0); sx <= vol.maxSection(0); sx++) {
+                for (int sy = vol.minSection(1); sy <= vol.maxSection(1); sy++) {
+                    for (int sz = vol.minSection(2); sz <= vol.maxSection(2); sz++) {
+                        long key = ChunkSectionPos.asLong(sx, sy, sz);
+                        List<Volume> list = bySection.get(key);
+                        if (list == null) continue;
+                        list.remove(vol);
+                        if (list.isEmpty()) bySection.remove(key);
+                    }
+                }
+            }
+        }
+
+        /** Frees the volumes of spires standing in {@code chunk}. */
+        void dropChunk(WorldChunk chunk) {
+            if (bySpire.isEmpty()) return;
+            ChunkPos cp = chunk.getPos();
+            List<Volume> gone = new ArrayList<>();
+            for (int sy = chunk.getBottomSectionCoord(); sy < chunk.getTopSectionCoord(); sy++) {
+                List<Volume> list = bySection.get(ChunkSectionPos.asLong(cp.x, sy, cp.z));
+                if (list == null) continue;
+                for (Volume vol : list) {
+                    if (ChunkSectionPos.getSectionCoord(BlockPos.unpackLongX(vol.spire)) == cp.x
+                            && ChunkSectionPos.getSectionCoord(BlockPos.unpackLongZ(vol.spire)) == cp.z
+                            && !gone.contains(vol)) {
+                        gone.add(vol);
+                    }
+                }
+            }
+            for (Volume vol : gone) remove(vol.spire);
+        }
+    }
+
+    private static final class Volume {
+        final long spire;
+        final Vec3d origin;
+        final int radius;
+        final int minX, minY, minZ;
+        final int cells;
+        final byte[] state;
+
+        /** Scratch for the cone walks; volumes are only touched on the server thread. */
+        private final double[] o = new double[3];
+        private final double[] corner = new double[3];
+        private final double[] span = new double[4];
+        private final int[] cell = new int[3];
+
+        Volume(BlockPos spire, Vec3d origin, int radius) {
+            this.spire = spire.asLong();
+            this.origin = origin;
+            this.radius = radius;
+            this.minX = spire.getX() - radius;
+            this.minY = spire.getY() - radius;
+            this.minZ = spire.getZ() - radius;
+            this.cells = (2 * radius + 1 + CELL - 1) / CELL;
+            this.state = new byte[cells * cells * cells];
+            o[0] = origin.x; o[1] = origin.y; o[2] = origin.z;
+        }
+
+        /** Section coordinate range of the cube along {@code axis} (0 = x, 1 = y, 2 = z). */
+        int minSection(int axis) {
+            return ChunkSectionPos.getSectionCoord(axis == 0 ? minX : axis == 1 ? minY : minZ);
+        }
+
+        int maxSection(int axis) {
+            return ChunkSectionPos.getSectionCoord((axis == 0 ? minX : axis == 1 ? minY : minZ) + cells * CELL - 1);
+        }
+
+        boolean contains(int x, int y, int z) {
+            int extent = cells * CELL;
+            return x >= minX && x < minX + extent && y >= minY && y < minY + extent && z >= minZ && z < minZ + extent;
+        }
+
+        byte lookup(ServerWorld world, Vec3d p) {
+            int x = MathHelper.floor(p.x), y = MathHelper.floor(p.y), z = MathHelper.floor(p.z);
+            if (!contains(x, y, z)) return AMBIGUOUS;
+
+            int cx = (x - minX) / CELL, cy = (y - minY) / CELL, cz = (z - minZ) / CELL;
+            int i = (cx * cells + cy) * cells + cz;
+            if (state[i] == UNKNOWN) state[i] = classify(world, cx, cy, cz);
+            return state[i];
+        }
+
+        /* ---------- classification ---------- */
+
+        private byte classify(ServerWorld world, int cx, int cy, int cz) {
+            double[] lo = {minX + cx * CELL, minY + cy * CELL, minZ + cz * CELL};
+            double[] hi = {lo[0] + CELL, lo[1] + CELL, lo[2] + CELL};
+            double[] dir = {lo[0] + CELL * 0.5 - o[0], lo[1] + CELL * 0.5 - o[1], lo[2] + CELL * 0.5 - o[2]};
+            int d = mainAxis(dir), u = (d + 1) % 3, v = (d + 2) % 3;
+            int sign = dir[d] > 0 ? 1 : -1;
+
+            int originSlab = MathHelper.floor(o[d]);
+            int from = Math.min(originSlab, (int) lo[d]);
+            int to = Math.max(originSlab, (int) hi[d] - 1);
+
+            BlockPos.Mutable m = new BlockPos.Mutable();
+            boolean clear = true;
+            for (int k = from; k <= to; k++) {
+                // A wall only counts clear of the origin (the raycast starts a little way out) and before the cell
+                boolean wallSlab = sign > 0
+                        ? k >= originSlab + 2 && k + 1 <= lo[d]
+                        : k + 1 <= originSlab - 1 && k >= hi[d];
+                if (!clear && !wallSlab) continue;
+
+                coneSlab(lo, hi, d, u, v, k);
+                int u0 = MathHelper.floor(span[0]), u1 = Math.max(u0, MathHelper.ceil(span[1]) - 1);
+                int v0 = MathHelper.floor(span[2]), v1 = Math.max(v0, MathHelper.ceil(span[3]) - 1);
+
+                boolean allFull = true;
+                for (int a = u0; a <= u1; a++) {
+                    for (int b = v0; b <= v1; b++) {
+                        cell[d] = k; cell[u] = a; cell[v] = b;
+                        m.set(cell[0], cell[1], cell[2]);
+                        BlockState s = world.getBlockState(m);
+                        if (s.getCollisionShape(world, m).isEmpty()) {
+                            allFull = false;
+                        } else {
+                            clear = false;
+                            if (!s.isFullCube(world, m)) allFull = false;
+                        }
+                    }
+                }
+                if (wallSlab && allFull) return BLOCKED;
+            }
+            return clear ? VISIBLE : AMBIGUOUS;
+        }
+
+        /**
+         * Bounds (u0, u1, v0, v1 into {@link #span}) of the cone from the origin to the box
+         * {@code [lo, hi]} within the slab {@code k <= d < k + 1}: the clipped origin-to-corner edges,
+         * plus the box itself where it overlaps the slab.
+         */
+        private void coneSlab(double[] lo, double[] hi, int d, int u, int v, int k) {
+            span[0] = span[2] = Double.MAX_VALUE;
+            span[1] = span[3] = -Double.MAX_VALUE;
+
+            if (hi[d] > k && lo[d] < k + 1) {
+                include(lo[u], lo[v]);
+                include(hi[u], hi[v]);
+            }
+            for (int c = 0; c < 8; c++) {
+                corner[0] = (c & 1) == 0 ? lo[0] : hi[0];
+                corner[1] = (c & 2) == 0 ? lo[1] : hi[1];
+                corner[2] = (c & 4) == 0 ? lo[2] : hi[2];
+
+                double len = corner[d] - o[d];
+                double s0, s1;
+                if (Math.abs(len) < 1.0e-9) {
+                    if (o[d] < k || o[d] > k + 1) continue;
+                    s0 = 0.0;
+                    s1 = 1.0;
+                } else {
+                    s0 = (k - o[d]) / len;
+                    s1 = (k + 1 - o[d]) / len;
+                    if (s0 > s1) { double t = s0; s0 = s1; s1 = t; }
+                    s0 = Math.max(0.0, s0);
+                    s1 = Math.min(1.0, s1);
+                    if (s0 > s1) continue;
+                }
+                include(o[u] + (corner[u] - o[u]) * s0, o[v] + (corner[v] - o[v]) * s0);
+                include(o[u] + (corner[u] - o[u]) * s1, o[v] + (corner[v] - o[v]) * s1);
+            }
+        }
+
+        private void include(double pu, double pv) {
+            span[0] = Math.min(span[0], pu);
+            span[1] = Math.max(span[1], pu);
+            span[2] = Math.min(span[2], pv);
+            span[3] = Math.max(span[3], pv);
+        }
+
+        /* ---------- invalidation ---------- */
+
+        /**
+         * Forgets every classified cell whose cone contains the changed block: the cells its shadow
+         * (as seen from the origin) falls on, walked one cell layer at a time away from the origin.
+         */
+        void invalidateShadow(BlockPos pos) {
+            double[] p = {pos.getX(), pos.getY(), pos.getZ()};
+            double[] dir = {p[0] + 0.5 - o[0], p[1] + 0.5 - o[1], p[2] + 0.5 - o[2]};
+            int d = mainAxis(dir), u = (d + 1) % 3, v = (d + 2) % 3;
+            if (Math.abs(dir[d]) < NEAR_ORIGIN) {
+                Arrays.fill(state, UNKNOWN);
+                return;
+            }
+            int sign = dir[d] > 0 ? 1 : -1;
+            int[] min = {minX, minY, minZ};
+
+            // One layer back as well, for a shadow that starts exactly on a layer boundary
+            int first = ((int) p[d] - min[d]) / CELL - sign;
+            first = Math.max(0, Math.min(cells - 1, first));
+            for (int j = first; j >= 0 && j < cells; j += sign) {
+                double a = min[d] + j * CELL, b = a + CELL;
+
+                span[0] = span[2] = Double.MAX_VALUE;
+                span[1] = span[3] = -Double.MAX_VALUE;
+                for (int c = 0; c < 8; c++) {
+                    corner[0] = p[0] + (c & 1);
+                    corner[1] = p[1] + ((c >> 1) & 1);
+                    corner[2] = p[2] + ((c >> 2) & 1);
+                    double len = corner[d] - o[d]; // |len| >= NEAR_ORIGIN - 0.5, never 0
+                    // The shadow starts at the block itself (s = 1) and widens away from the origin
+                    double sa = Math.max(1.0, (a - o[d]) / len);
+                    double sb = Math.max(1.0, (b - o[d]) / len);
+                    include(o[u] + (corner[u] - o[u]) * sa, o[v] + (corner[v] - o[v]) * sa);
+                    include(o[u] + (corner[u] - o[u]) * sb, o[v] + (corner[v] - o[v]) * sb);
+                }
+
+                int u0 = Math.max(0, MathHelper.floor((span[0] - min[u]) / CELL));
+                int u1 = Math.min(cells - 1, MathHelper.floor((span[1] - min[u]) / CELL));
+                int v0 = Math.max(0, MathHelper.floor((span[2] - min[v]) / CELL));
+                int v1 = Math.min(cells - 1, MathHelper.floor((span[3] - min[v]) / CELL));
+                for (int cu = u0; cu <= u1; cu++) {
+                    for (int cv = v0; cv <= v1; cv++) {
+                        cell[d] = j; cell[u] = cu; cell[v] = cv;
+                        state[(cell[0] * cells + cell[1]) * cells + cell[2]] = UNKNOWN;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -6,11 +6,13 @@ import net.minecraft.block.BlockWithEntity;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.screen.NamedScreenHandlerFactory;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.pufferfish.anomaly.mesh.HextechNetworkIndex;
 
 public class TeleporterTerminalBlock extends BlockWithEntity {
     public TeleporterTerminalBlock(Settings settings) { super(settings); }
@@ -25,6 +27,22 @@ public class TeleporterTerminalBlock extends BlockWithEntity {
         return BlockRenderType.MODEL;
     }
 
+    @Override
+    public void onBlockAdded(BlockState state, World world, BlockPos pos, BlockState oldState, boolean notify) {
+        super.onBlockAdded(state, world, pos, oldState, notify);
+        if (world instanceof ServerWorld sw && !oldState.isOf(this)) {
+            HextechNetworkIndex.get(sw).onTerminalAdded(pos);
+        }
+    }
+
+    @Override
+    public void onStateReplaced(BlockState state, World world, BlockPos pos, BlockState newState, boolean moved) {
+        if (world instanceof ServerWorld sw && !newState.isOf(this)) {
+            HextechNetworkIndex.get(sw).onTerminalRemoved(pos);
+        }
+        super.onStateReplaced(state, world, pos, newState, moved);
+    }
+
     @Override
     public ActionResult onUse(BlockState state, World world, BlockPos pos,
                               PlayerEntity player, Hand hand, BlockHitResult hit) {
@@ -5,11 +5,13 @@ import net.minecraft.registry.Registries;
 import net.minecraft.registry.Registry;
 
 import net.pufferfish.anomaly.Ids;
+import net.pufferfish.anomaly.block.HextechSpireBlockEntity;
 import net.pufferfish.anomaly.block.TeleporterTerminalBlockEntity;
 import net.pufferfish.anomaly.block.ModBlocks;
 
 public final class ModBlockEntities {
     public static BlockEntityType<TeleporterTerminalBlockEntity> TELEPORTER_TERMINAL;
+    public static BlockEntityType<HextechSpireBlockEntity> HEXTECH_SPIRE;
 
     public static void register() {
         TELEPORTER_TERMINAL = Registry.register(
@@ -17,5 +19,10 @@ public final class ModBlockEntities {
                 Ids.id("teleporter_terminal"),
                 BlockEntityType.Builder.create(TeleporterTerminalBlockEntity::new, ModBlocks.TELEPORTER_TERMINAL).build(null)
         );
+        HEXTECH_SPIRE = Registry.register(
+                Registries.BLOCK_ENTITY_TYPE,
+                Ids.id("hextech_spire"),
+                BlockEntityType.Builder.create(HextechSpireBlockEntity::new, ModBlocks.HEXTECH_SPIRE).build(null)
+        );
     }
 }
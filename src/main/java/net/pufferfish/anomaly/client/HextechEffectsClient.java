@@ -0,0 +1,102 @@
+package net.pufferfish.anomaly.client;
+
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.particle.DustParticleEffect;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.random.Random;
+import net.pufferfish.anomaly.net.HextechEffects;
+import net.pufferfish.anomaly.util.Geometry;
+import org.joml.Vector3f;
+
+/** Expands {@link HextechEffects} descriptors into dust particles on the client. */
+public final class HextechEffectsClient {
+
+    private HextechEffectsClient() {}
+
+    public static void init() {
+        ClientPlayNetworking.registerGlobalReceiver(HextechEffects.ID, (client, handler, buf, sender) -> {
+            HextechEffects.Effect effect = HextechEffects.decode(buf);
+            client.execute(() -> play(client, effect));
+        });
+    }
+
+    private static void play(MinecraftClient client, HextechEffects.Effect effect) {
+        ClientWorld world = client.world;
+        if (world == null) return;
+
+        int rgb = effect.rgb();
+        DustParticleEffect dust = new DustParticleEffect(new Vector3f(
+                ((rgb >> 16) & 0xFF) / 255f, ((rgb >> 8) & 0xFF) / 255f, (rgb & 0xFF) / 255f), effect.size());
+
+        for (HextechEffects.Primitive p : effect.primitives()) {
+            if (p instanceof HextechEffects.RingBand r) {
+                ringBand(world, dust, r);
+            } else if (p instanceof HextechEffects.Beam b) {
+                beam(world, dust, b);
+            } else if (p instanceof HextechEffects.Burst b) {
+                scatter(world, dust, b.at().x, b.at().y, b.at().z, b.n(), b.spread());
+            }
+        }
+    }
+
+    /* ---------- shapes ---------- */
+
+    /** Ring plane basis scratch; effects only play on the client thread. */
+    private static final double[] UV = new double[6];
+
+    private static void ringBand(ClientWorld world, DustParticleEffect dust, HextechEffects.RingBand r) {
+        Vec3d axis = r.axis();
+        Geometry.basis(axis.x, axis.y, axis.z, UV);
+        double[] circle = Geometry.circle(r.points());
+        if (r.outerR() <= r.innerR()) {
+            ring(world, dust, r.center(), circle, r.outerR());
+            return;
+        }
+        int layers = Math.max(2, r.layers());
+        for (int i = 0; i < layers; i++) {
+            double f = (double) i / (layers - 1);
+            ring(world, dust, r.center(), circle, r.innerR() + (r.outerR() - r.innerR()) * f);
+        }
+    }
+
+    private static void ring(ClientWorld world, DustParticleEffect dust, Vec3d c, double[] circle, double radius) {
+        for (int k = 0; k < circle.length; k += 2) {
+            double cos = circle[k] * radius;
+            double sin = circle[k + 1] * radius;
+            world.addParticle(dust,
+                    c.x + UV[0] * cos + UV[3] * sin,
+                    c.y + UV[1] * cos + UV[4] * sin,
+                    c.z + UV[2] * cos + UV[5] * sin,
+                    0, 0, 0);
+        }
+    }
+
+    private static void beam(ClientWorld world, DustParticleEffect dust, HextechEffects.Beam b) {
+        int n = Math.max(1, b.steps());
+        Vec3d from = b.from(), to = b.to();
+        double dx = to.x - from.x, dy = to.y - from.y, dz = to.z - from.z;
+        for (int i = 0; i <= n; i++) {
+            double t = (double) i / n;
+            scatter(world, dust, from.x + dx * t, from.y + dy * t, from.z + dz * t, b.perPoint(), b.spread());
+        }
+    }
+
+    /** Same spread ServerWorld#spawnParticles gives a multi-count particle packet. */
+    private static void scatter(ClientWorld world, DustParticleEffect dust, double x, double y, double z,
+                                int n, double spread) {
+        if (n <= 1 || spread == 0) {
+            for (int i = 0; i < Math.max(1, n); i++) world.addParticle(dust, x, y, z, 0, 0, 0);
+            return;
+        }
+        Random random = world.getRandom();
+        for (int i = 0; i < n; i++) {
+            world.addParticle(dust,
+                    x + random.nextGaussian() * spread,
+                    y + random.nextGaussian() * spread,
+                    z + random.nextGaussian() * spread,
+                    0, 0, 0);
+        }
+    }
+}
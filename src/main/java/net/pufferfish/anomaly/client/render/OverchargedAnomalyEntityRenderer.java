@@ -0,0 +1,147 @@
+package net.pufferfish.anomaly.client.render;
+
+import java.util.Random;
+
+import net.minecraft.client.render.Frustum;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.render.entity.EntityRenderer;
+import net.minecraft.client.render.entity.EntityRendererFactory;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.MathHelper;
+
+import net.pufferfish.anomaly.entity.OverchargedAnomalyEntity;
+import net.pufferfish.anomaly.util.Geometry;
+
+/**
+ * Draws the overcharged anomaly from its synced age and hole seed: a thin two-layer gray shell with
+ * {@code HOLE_COUNT} cutouts, plus purple/blue/green clusters that re-roll every tick and pulse in
+ * brightness. Same shapes the server used to emit as dust every tick.
+ */
+public class OverchargedAnomalyEntityRenderer extends EntityRenderer<OverchargedAnomalyEntity> {
+    private static final float SPECK = 0.05f;
+    private static final float GRAY = 0.52f;
+
+    private static final int LAYERS = 2;
+    private static final float LAYER_THICKNESS = 0.06f;
+
+    private static final int CLUSTERS_PER_COLOR = 2;
+    private static final int PER_CLUSTER = 10;
+    private static final double CLUSTER_COS = Math.cos(Math.toRadians(10.0));
+
+    private final Specks specks = new Specks();
+    /** Reseeded per frame; only used on the render thread. */
+    private final Random rng = new Random();
+    private final double[] dir = new double[3];
+    private final double[] jitter = new double[3];
+
+    public OverchargedAnomalyEntityRenderer(EntityRendererFactory.Context ctx) {
+        super(ctx);
+    }
+
+    @Override
+    public boolean shouldRender(OverchargedAnomalyEntity entity, Frustum frustum, double x, double y, double z) {
+        return frustum.isVisible(entity.getBoundingBox().expand(OverchargedAnomalyEntity.INITIAL_RADIUS));
+    }
+
+    @Override
+    public void render(OverchargedAnomalyEntity entity, float yaw, float tickDelta, MatrixStack matrices,
+                       VertexConsumerProvider vertexConsumers, int light) {
+        int age = entity.getAgeTicks();
+        float radius = entity.getRadius(tickDelta);
+
+        specks.begin(matrices, vertexConsumers, dispatcher.getRotation(), SPECK);
+        shell(entity, age, radius);
+        colorGroups(entity, age, radius);
+
+        super.render(entity, yaw, tickDelta, matrices, vertexConsumers, light);
+    }
+
+    /* ---------- gray shell ---------- */
+
+    private void shell(OverchargedAnomalyEntity entity, int age, float radius) {
+        float inner = Math.max(OverchargedAnomalyEntity.MIN_RADIUS, radius - LAYER_THICKNESS);
+
+        // Density scales with r^2
+        int points = Math.max(120, (int) (radius * radius * 70));
+
+        // Small jitter so it doesn't look too grid-like when animated
+        float jitterAmp = 0.010f + 0.008f * (MathHelper.sin(age * 0.17f) * 0.5f + 0.5f);
+
+        double[] sphere = Geometry.sphere(points);
+        for (int li = 0; li < LAYERS; li++) {
+            float r = inner + (radius - inner) * (li / (float) (LAYERS - 1));
+            for (int i = 0; i < points; i++) {
+                double x = sphere[i * 3], y = sphere[i * 3 + 1], z = sphere[i * 3 + 2];
+
+                if (entity.isInsideAnyHole(x, y, z)) continue;
+
+                int h = MathHelper.idealHash(age * 7919 + li * points + i);
+                float jx = ((h & 0xFF) / 255f - 0.5f) * jitterAmp;
+                float jy = (((h >>> 8) & 0xFF) / 255f - 0.5f) * jitterAmp;
+                float jz = (((h >>> 16) & 0xFF) / 255f - 0.5f) * jitterAmp;
+
+                specks.add((float) (x + jx) * r, (float) (y + jy) * r, (float) (z + jz) * r, GRAY, GRAY, GRAY, 0.8f);
+            }
+        }
+    }
+
+    /* ---------- color groups ---------- */
+
+    private void colorGroups(OverchargedAnomalyEntity entity, int age, float radius) {
+        // Smoothly change brightness per color over time
+        float t = age / 6f;
+        float v1 = MathHelper.sin(t * 0.9f) * 0.5f + 0.5f;
+        float v2 = MathHelper.sin(t * 1.1f + 2.1f) * 0.5f + 0.5f;
+        float v3 = MathHelper.sin(t * 1.3f + 4.0f) * 0.5f + 0.5f;
+
+        // Cluster centers re-roll every tick, stable within it
+        rng.setSeed(1469598103934665603L ^ entity.getId() * 1099511628211L ^ age * 911382323L);
+
+        clusters(entity, radius, 0.80f, 0.25f + 0.65f * v1, 0.95f);  // purple
+        clusters(entity, radius, 0.25f, 0.45f + 0.55f * v2, 1.00f);  // blue
+        clusters(entity, radius, 0.30f + 0.60f * v3, 1.00f, 0.35f);  // light green
+    }
+
+    private void clusters(OverchargedAnomalyEntity entity, float radius, float r, float g, float b) {
+        for (int ci = 0; ci < CLUSTERS_PER_COLOR; ci++) {
+            randomUnit(dir);
+            if (entity.isInsideAnyHole(dir[0], dir[1], dir[2])) continue;
+
+            for (int k = 0; k < PER_CLUSTER; k++) {
+                withinCone(dir, jitter);
+                if (entity.isInsideAnyHole(jitter[0], jitter[1], jitter[2])) continue;
+                specks.add((float) jitter[0] * radius, (float) jitter[1] * radius, (float) jitter[2] * radius,
+                        r, g, b, 0.9f);
+            }
+        }
+    }
+
+    /** Rejection-samples a unit vector within the cluster cone around {@code axis}. */
+    private void withinCone(double[] axis, double[] out) {
+        for (int tries = 0; tries < 8; tries++) {
+            randomUnit(out);
+            if (out[0] * axis[0] + out[1] * axis[1] + out[2] * axis[2] >= CLUSTER_COS) return;
+        }
+        System.arraycopy(axis, 0, out, 0, 3);
+    }
+
+    private void randomUnit(double[] out) {
+        double x, y, z, len2;
+        do {
+            x = rng.nextGaussian();
+            y = rng.nextGaussian();
+            z = rng.nextGaussian();
+            len2 = x * x + y * y + z * z;
+        } while (len2 < 1.0e-6);
+        double inv = 1.0 / Math.sqrt(len2);
+        out[0] = x * inv;
+        out[1] = y * inv;
+        out[2] = z * inv;
+    }
+
+    @Override
+    public Identifier getTexture(OverchargedAnomalyEntity entity) {
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package net.pufferfish.anomaly.client.render;
+
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.util.math.MatrixStack;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * Small camera-facing quads, the renderer-side stand-in for dust particles. One instance per
+ * renderer; {@link #begin} once per frame, then {@link #add} per speck (coordinates relative to the
+ * entity).
+ */
+final class Specks {
+    private final Vector3f[] corners = {new Vector3f(), new Vector3f(), new Vector3f(), new Vector3f()};
+    private VertexConsumer vc;
+    private Matrix4f m;
+
+    void begin(MatrixStack matrices, VertexConsumerProvider vertexConsumers, Quaternionf camera, float size) {
+        corners[0].set(-size, -size, 0).rotate(camera);
+        corners[1].set(size, -size, 0).rotate(camera);
+        corners[2].set(size, size, 0).rotate(camera);
+        corners[3].set(-size, size, 0).rotate(camera);
+        vc = vertexConsumers.getBuffer(RenderLayer.getLightning());
+        m = matrices.peek().getPositionMatrix();
+    }
+
+    void add(float x, float y, float z, float r, float g, float b, float a) {
+        for (Vector3f c : corners) {
+            vc.vertex(m, x + c.x, y + c.y, z + c.z).color(r, g, b, a).next();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package net.pufferfish.anomaly.client.render;
+
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.render.entity.EntityRenderer;
+import net.minecraft.client.render.entity.EntityRendererFactory;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.MathHelper;
+
+import net.pufferfish.anomaly.entity.WildRuneEntity;
+import net.pufferfish.anomaly.util.Geometry;
+
+/**
+ * Draws the wild rune's shell locally: a fibonacci sphere of small camera-facing specks that slowly
+ * turns and shimmers with the entity's age, plus a flat glow of tint specks near the centre.
+ * Replaces the ~200 dust particles the server used to send every tick.
+ */
+public class WildRuneEntityRenderer extends EntityRenderer<WildRuneEntity> {
+    private static final int SHELL_POINTS = 180;
+    private static final int TINT_POINTS = 20;
+    private static final float SPECK = 0.05f;
+
+    private static final float[] GRAY = {0.60f, 0.60f, 0.65f};
+    private static final float[] TINT = {0.35f, 0.85f, 1.0f};
+
+    private final Specks specks = new Specks();
+
+    public WildRuneEntityRenderer(EntityRendererFactory.Context ctx) {
+        super(ctx);
+    }
+
+    @Override
+    public void render(WildRuneEntity entity, float yaw, float tickDelta, MatrixStack matrices,
+                       VertexConsumerProvider vertexConsumers, int light) {
+        float t = entity.age + tickDelta;
+        float radius = WildRuneEntity.VISUAL_RADIUS;
+
+        specks.begin(matrices, vertexConsumers, dispatcher.getRotation(), SPECK);
+
+        // Outer shell, turning slowly about Y
+        double[] shell = Geometry.sphere(SHELL_POINTS);
+        float spin = t * 0.02f;
+        float cos = MathHelper.cos(spin), sin = MathHelper.sin(spin);
+        for (int i = 0; i < SHELL_POINTS; i++) {
+            float x = (float) shell[i * 3], y = (float) shell[i * 3 + 1], z = (float) shell[i * 3 + 2];
+            float a = 0.45f + 0.3f * MathHelper.sin(t * 0.3f + i * 1.7f);
+            specks.add((x * cos - z * sin) * radius, y * radius, (x * sin + z * cos) * radius, GRAY[0], GRAY[1], GRAY[2], a);
+        }
+
+        // Inner tint, re-scattered every few ticks like the old particle burst
+        int frame = (int) (t / 4);
+        for (int i = 0; i < TINT_POINTS; i++) {
+            int h = MathHelper.idealHash(entity.getId() * 31 + frame * TINT_POINTS + i);
+            float dx = ((h & 0xFF) / 255f - 0.5f) * radius * 0.7f;
+            float dz = (((h >>> 8) & 0xFF) / 255f - 0.5f) * radius * 0.7f;
+            float dy = 0.05f + (((h >>> 16) & 0xFF) / 255f - 0.5f) * 0.1f;
+            specks.add(dx, dy, dz, TINT[0], TINT[1], TINT[2], 0.6f);
+        }
+
+        super.render(entity, yaw, tickDelta, matrices, vertexConsumers, light);
+    }
+
+    @Override
+    public Identifier getTexture(WildRuneEntity entity) {
+        return null;
+    }
+}
@@ -1,41 +1,48 @@
 package net.pufferfish.anomaly.item;
 
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
-import net.minecraft.entity.Entity;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.particle.DustParticleEffect;
-import net.minecraft.server.MinecraftServer;
+import net.minecraft.registry.RegistryKey;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
 import org.joml.Vector3f;
 
-import java.util.Iterator;
-import java.util.concurrent.CopyOnWriteArrayList;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.pufferfish.anomaly.net.ParticleBroadcast;
+import net.pufferfish.anomaly.util.LivingEntityGrid;
+
+/**
+ * Damaging clouds left along Arcane Anomaly beams.
+ *
+ * One beam is stored as one capsule: a segment with a cloud ("puff") every {@code spacing} blocks,
+ * all sharing a radius and lifetime. Capsules live per world in parallel arrays and expire by
+ * swap-remove; the store is dropped with its world, so nothing keeps a ServerWorld alive. Damage
+ * runs one capsule query (LivingEntityGrid#collectCapsule) per capsule per second and hits what
+ * touches any puff's cube, as the separate clouds did.
+ */
 public final class ArcaneAnomalyClouds {
 
     private static final Vector3f DARK_CYAN = new Vector3f(0.0f, 0.55f, 0.55f);
     private static final DustParticleEffect DUST = new DustParticleEffect(DARK_CYAN, 1.25f);
 
-    private static final class Cloud {
-        final ServerWorld world;
-        final Vec3d pos;
-        int ticksLeft;
-        final double radius;
-
-        Cloud(ServerWorld world, Vec3d pos, int ticksLeft, double radius) {
-            this.world = world;
-            this.pos = pos;
-            this.ticksLeft = ticksLeft;
-            this.radius = radius;
-        }
-    }
+    private static final int PARTICLES_PER_PUFF = 8;
+    /** Centre of a puff cube to its corner, per unit of radius. */
+    private static final double CUBE_CORNER = Math.sqrt(3.0);
 
-    private static final CopyOnWriteArrayList<Cloud> CLOUDS = new CopyOnWriteArrayList<>();
+    private static final Map<RegistryKey<World>, Store> STORES = new ConcurrentHashMap<>();
 
     public static void init() {
-        ServerTickEvents.END_SERVER_TICK.register(ArcaneAnomalyClouds::tick);
+        ServerTickEvents.END_WORLD_TICK.register(ArcaneAnomalyClouds::tick);
+        ServerWorldEvents.UNLOAD.register((server, world) -> STORES.remove(world.getRegistryKey()));
     }
 
     /**
@@ -52,47 +59,125 @@ public final class ArcaneAnomalyClouds {
         double length = delta.length();
         if (length < 0.001) return;
 
-        Vec3d dir = delta.normalize();
-        int ticks = lifetimeSeconds * 20;
+        // Puffs at 0, spacing, 2*spacing ... up to the beam length
+        int last = spacingBlocks > 0 ? (int) Math.floor(length / spacingBlocks) : 0;
+        Vec3d tail = start.add(delta.multiply(last * spacingBlocks / length));
 
-        for (double d = 0.0; d <= length; d += spacingBlocks) {
-            Vec3d p = start.add(dir.multiply(d));
-            CLOUDS.add(new Cloud(world, p, ticks, cloudRadius));
-        }
+        STORES.computeIfAbsent(world.getRegistryKey(), k -> new Store())
+                .add(start, tail, last + 1, cloudRadius, lifetimeSeconds * 20);
     }
 
-    private static void tick(MinecraftServer server) {
-        if (CLOUDS.isEmpty()) return;
+    private static void tick(ServerWorld world) {
+        Store s = STORES.get(world.getRegistryKey());
+        if (s == null || s.size == 0) return;
+
+        int n = 0;
+        for (int i = 0; i < s.size; ) {
+            int puffs = s.puffs[i];
+
+            // Spawn particles every tick (every stride-th puff when over the particle budget)
+            int stride = ParticleBroadcast.request(world, ParticleBroadcast.Priority.EFFECT, puffs * PARTICLES_PER_PUFF);
+            for (int k = 0; k < puffs; k++) {
+                if (n++ % stride != 0) continue;
+                double t = puffs == 1 ? 0.0 : k / (double) (puffs - 1);
+                ParticleBroadcast.spawn(world, DUST,
+                        s.x(i, t), s.y(i, t), s.z(i, t),
+                        PARTICLES_PER_PUFF,
+                        0.25, 0.25, 0.25,
+                        0.01);
+            }
 
-        Iterator<Cloud> it = CLOUDS.iterator();
-        while (it.hasNext()) {
-            Cloud c = it.next();
+            // Damage once per second
+            if (s.ticksLeft[i] % 20 == 0) damage(world, s, i);
 
-            // Spawn particles every tick
-            c.world.spawnParticles(DUST,
-                    c.pos.x, c.pos.y, c.pos.z,
-                    8,
-                    0.25, 0.25, 0.25,
-                    0.01);
+            if (--s.ticksLeft[i] <= 0) {
+                s.removeAt(i); // last capsule moved into i
+                continue;
+            }
+            i++;
+        }
+    }
 
-            // Damage once per second
-            if (c.ticksLeft % 20 == 0) {
-                Box box = new Box(c.pos, c.pos).expand(c.radius);
+    private static void damage(ServerWorld world, Store s, int i) {
+        int o = i * 3;
+        Vec3d a = new Vec3d(s.a[o], s.a[o + 1], s.a[o + 2]);
+        Vec3d b = new Vec3d(s.b[o], s.b[o + 1], s.b[o + 2]);
+
+        // Any hitbox touching a puff cube is within a cube corner of the segment; the cube test is exact
+        List<LivingEntity> near = new ArrayList<>();
+        LivingEntityGrid.get(world).collectCapsule(a, b, s.radius[i] * CUBE_CORNER, near);
+        for (LivingEntity le : near) {
+            if (!touchesPuff(s, i, le.getBoundingBox())) continue;
+            le.damage(world.getDamageSources().magic(), 2.0f); // 1 heart/sec
+        }
+    }
 
-                for (Entity e : c.world.getOtherEntities(null, box,
-                        ent -> ent instanceof LivingEntity le && le.isAlive())) {
+    /** Whether {@code box} touches the cube of the puff nearest to it (or either neighbour). */
+    private static boolean touchesPuff(Store s, int i, Box box) {
+        int puffs = s.puffs[i];
+        int nearest = 0;
+        if (puffs > 1) {
+            int o = i * 3;
+            double dx = s.b[o] - s.a[o], dy = s.b[o + 1] - s.a[o + 1], dz = s.b[o + 2] - s.a[o + 2];
+            double len2 = dx * dx + dy * dy + dz * dz;
+            Vec3d c = box.getCenter();
+            double t = len2 < 1.0e-9 ? 0.0
+                    : ((c.x - s.a[o]) * dx + (c.y - s.a[o + 1]) * dy + (c.z - s.a[o + 2]) * dz) / len2;
+            nearest = MathHelper.clamp((int) Math.round(t * (puffs - 1)), 0, puffs - 1);
+        }
 
-                    LivingEntity le = (LivingEntity) e;
-                    le.damage(c.world.getDamageSources().magic(), 2.0f); // 1 heart/sec
-                }
-            }
+        double r = s.radius[i];
+        for (int k = Math.max(0, nearest - 1); k <= Math.min(puffs - 1, nearest + 1); k++) {
+            double t = puffs == 1 ? 0.0 : k / (double) (puffs - 1);
+            double px = s.x(i, t), py = s.y(i, t), pz = s.z(i, t);
+            if (box.intersects(px - r, py - r, pz - r, px + r, py + r, pz + r)) return true;
+        }
+        return false;
+    }
 
-            c.ticksLeft--;
-            if (c.ticksLeft <= 0) {
-                CLOUDS.remove(c);
-            }
+    /** Capsules of one world, struct-of-arrays. */
+    private static final class Store {
+        double[] a = new double[3 * 8];
+        double[] b = new double[3 * 8];
+        double[] radius = new double[8];
+        int[] puffs = new int[8];
+        int[] ticksLeft = new int[8];
+        int size;
+
+        void add(Vec3d from, Vec3d to, int puffCount, double r, int ticks) {
+            if (size == radius.length) grow();
+            int o = size * 3;
+            a[o] = from.x; a[o + 1] = from.y; a[o + 2] = from.z;
+            b[o] = to.x;   b[o + 1] = to.y;   b[o + 2] = to.z;
+            radius[size] = r;
+            puffs[size] = puffCount;
+            ticksLeft[size] = ticks;
+            size++;
+        }
+
+        void removeAt(int i) {
+            int last = --size;
+            if (i == last) return;
+            System.arraycopy(a, last * 3, a, i * 3, 3);
+            System.arraycopy(b, last * 3, b, i * 3, 3);
+            radius[i] = radius[last];
+            puffs[i] = puffs[last];
+            ticksLeft[i] = ticksLeft[last];
+        }
+
+        double x(int i, double t) { return a[i * 3] + (b[i * 3] - a[i * 3]) * t; }
+        double y(int i, double t) { return a[i * 3 + 1] + (b[i * 3 + 1] - a[i * 3 + 1]) * t; }
+        double z(int i, double t) { return a[i * 3 + 2] + (b[i * 3 + 2] - a[i * 3 + 2]) * t; }
+
+        private void grow() {
+            int cap = radius.length * 2;
+            a = Arrays.copyOf(a, cap * 3);
+            b = Arrays.copyOf(b, cap * 3);
+            radius = Arrays.copyOf(radius, cap);
+            puffs = Arrays.copyOf(puffs, cap);
+            ticksLeft = Arrays.copyOf(ticksLeft, cap);
         }
     }
 
     private ArcaneAnomalyClouds() {}
-}
\ No newline at end of file
+}
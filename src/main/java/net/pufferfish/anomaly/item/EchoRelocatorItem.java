@@ -1,6 +1,9 @@
 package net.pufferfish.anomaly.item;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
@@ -21,6 +24,7 @@ import net.minecraft.text.Text;
 import net.minecraft.util.*;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import net.minecraft.registry.RegistryKey;
@@ -28,10 +32,14 @@ import net.minecraft.registry.RegistryKeys;
 
 import net.pufferfish.anomaly.block.ModBlocks;
 import net.pufferfish.anomaly.sound.ModSounds;
+import net.pufferfish.anomaly.net.ParticleBroadcast;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -58,7 +66,7 @@ public class EchoRelocatorItem extends Item {
 
     // ===== Echo field runtime storage (server-only) =====
 
-    private static final Map<Long, EchoField> ECHO_FIELDS = new ConcurrentHashMap<>();
+    private static final Map<RegistryKey<World>, FieldIndex> ECHO_FIELDS = new ConcurrentHashMap<>();
     private static final Map<UUID, Integer> RECENTLY_TELEPORTED = new ConcurrentHashMap<>();
     private static boolean TICK_HOOKED = false;
 
@@ -76,6 +84,7 @@ public class EchoRelocatorItem extends Item {
             tickEchoFields(world);
             tickRecentTeleported();
         });
+        ServerWorldEvents.UNLOAD.register((server, world) -> ECHO_FIELDS.remove(world.getRegistryKey()));
     }
 
     private static void tickRecentTeleported() {
@@ -89,42 +98,39 @@ public class EchoRelocatorItem extends Item {
     }
 
     private static void tickEchoFields(ServerWorld world) {
-        if (ECHO_FIELDS.isEmpty()) return;
+        FieldIndex index = ECHO_FIELDS.get(world.getRegistryKey());
+        if (index == null) return;
 
         long now = world.getServer().getTicks();
+        index.expire(now);
+        if (index.byChunk.isEmpty()) return;
 
-        Iterator<Map.Entry<Long, EchoField>> it = ECHO_FIELDS.entrySet().iterator();
-        while (it.hasNext()) {
-            EchoField field = it.next().getValue();
-
-            // Only tick fields that belong to this world
-            if (!field.originWorld.equals(world.getRegistryKey())) continue;
+        // One entity query per occupied chunk, covering every field in it
+        for (Long2ObjectMap.Entry<List<EchoField>> e : index.byChunk.long2ObjectEntrySet()) {
+            List<EchoField> fields = e.getValue();
 
-            // Expire
-            if (now > field.expiresAtTick) {
-                it.remove();
-                continue;
-            }
+            Box region = fields.get(0).box;
+            for (int i = 1; i < fields.size(); i++) region = region.union(fields.get(i).box);
 
-            // Particles at origin
-            spawnEchoParticles(world, field.originCenter);
+            List<LivingEntity> inside = world.getEntitiesByClass(LivingEntity.class, region, LivingEntity::isAlive);
 
-            // Teleport players who enter
-            Box box = new Box(
-                    field.originCenter.x, field.originCenter.y, field.originCenter.z,
-                    field.originCenter.x, field.originCenter.y, field.originCenter.z
-            ).expand(ECHO_FIELD_RADIUS, 1.5, ECHO_FIELD_RADIUS);
+            for (EchoField field : fields) {
+                // Particles at origin
+                spawnEchoParticles(world, field.originCenter);
 
-            for (LivingEntity le : world.getEntitiesByClass(LivingEntity.class, box, LivingEntity::isAlive)) {
+                // Teleport players who enter
+                for (LivingEntity le : inside) {
+                    if (!le.getBoundingBox().intersects(field.box)) continue;
 
-                // Anti-loop protection
-                if (RECENTLY_TELEPORTED.containsKey(le.getUuid())) continue;
+                    // Anti-loop protection
+                    if (RECENTLY_TELEPORTED.containsKey(le.getUuid())) continue;
 
-                if (teleportLivingToBound(le, field.targetWorld, field.targetPos)) {
-                    RECENTLY_TELEPORTED.put(le.getUuid(), RECENT_TELEPORT_COOLDOWN_TICKS);
+                    if (teleportLivingToBound(le, field.targetWorld, field.targetPos)) {
+                        RECENTLY_TELEPORTED.put(le.getUuid(), RECENT_TELEPORT_COOLDOWN_TICKS);
 
-                    world.playSound(null, BlockPos.ofFloored(field.originCenter),
-                            SoundEvents.ENTITY_ENDERMAN_TELEPORT, SoundCategory.PLAYERS, 0.6f, 1.2f);
+                        world.playSound(null, BlockPos.ofFloored(field.originCenter),
+                                SoundEvents.ENTITY_ENDERMAN_TELEPORT, SoundCategory.PLAYERS, 0.6f, 1.2f);
+                    }
                 }
             }
         }
@@ -162,7 +168,7 @@ public class EchoRelocatorItem extends Item {
             player.damage(targetWorld.getDamageSources().magic(), ECHO_MAGIC_DAMAGE);
 
             // Arrival effects
-            targetWorld.spawnParticles(ParticleTypes.GLOW, x, y + 0.2, z, 30, 0.3, 0.5, 0.3, 0.02);
+            ParticleBroadcast.spawn(targetWorld, ParticleTypes.GLOW, x, y + 0.2, z, 30, 0.3, 0.5, 0.3, 0.02);
             targetWorld.playSound(null, padPos, SoundEvents.ENTITY_ENDERMAN_TELEPORT, SoundCategory.PLAYERS, 1.0f, 1.0f);
             targetWorld.playSound(null, padPos, ModSounds.HEXTECH_TELEPORTER_USE, SoundCategory.PLAYERS, 1f, 2.0f);
 
@@ -189,7 +195,7 @@ public class EchoRelocatorItem extends Item {
         }
 
         // Arrival effects
-        targetWorld.spawnParticles(ParticleTypes.GLOW, x, y + 0.2, z, 20, 0.3, 0.5, 0.3, 0.02);
+        ParticleBroadcast.spawn(targetWorld, ParticleTypes.GLOW, x, y + 0.2, z, 20, 0.3, 0.5, 0.3, 0.02);
         targetWorld.playSound(null, padPos, SoundEvents.ENTITY_ENDERMAN_TELEPORT, SoundCategory.PLAYERS, 0.9f, 1.0f);
 
         return true;
@@ -197,18 +203,19 @@ public class EchoRelocatorItem extends Item {
 
 
     private static void spawnEchoParticles(ServerWorld world, Vec3d center) {
-        world.spawnParticles(
+        int stride = ParticleBroadcast.request(world, ParticleBroadcast.Priority.AMBIENT, ECHO_PARTICLE_COUNT_PER_TICK + 2);
+        ParticleBroadcast.spawn(world,
                 ParticleTypes.GLOW,
                 center.x, center.y + 0.7, center.z,
-                ECHO_PARTICLE_COUNT_PER_TICK,
+                ParticleBroadcast.thin(ECHO_PARTICLE_COUNT_PER_TICK, stride),
                 0.35, 0.5, 0.35,
                 0.01
         );
         // Add a little “column” feel
-        world.spawnParticles(
+        ParticleBroadcast.spawn(world,
                 ParticleTypes.END_ROD,
                 center.x, center.y + 0.2, center.z,
-                2,
+                ParticleBroadcast.thin(2, stride),
                 0.15, 0.8, 0.15,
                 0.0
         );
@@ -236,7 +243,7 @@ public class EchoRelocatorItem extends Item {
         player.teleport(targetWorld, x, y, z, player.getYaw(), player.getPitch());
 
         // Arrival effects
-        targetWorld.spawnParticles(
+        ParticleBroadcast.spawn(targetWorld,
                 ParticleTypes.GLOW,
                 x, y + 0.2, z,
                 30,
@@ -249,18 +256,47 @@ public class EchoRelocatorItem extends Item {
         return true;
     }
 
-    private static long fieldKey(RegistryKey<World> worldKey, BlockPos pos) {
-        // Combine pos and world id into a stable-ish key
-        // (world id hash in top bits; pos long in low bits)
-        long a = (long) worldKey.getValue().toString().hashCode();
-        long b = pos.asLong();
-        return (a << 32) ^ b;
+    /**
+     * Echo fields of one world: one per departure block (a newer field replaces the older one), bucketed
+     * by chunk for the entity checks and queued by expiry so each tick only touches what has expired.
+     */
+    private static final class FieldIndex {
+        final Long2ObjectOpenHashMap<EchoField> byPos = new Long2ObjectOpenHashMap<>();
+        final Long2ObjectOpenHashMap<List<EchoField>> byChunk = new Long2ObjectOpenHashMap<>();
+        final PriorityQueue<EchoField> byExpiry = new PriorityQueue<>(Comparator.comparingLong(f -> f.expiresAtTick));
+
+        void add(EchoField field) {
+            EchoField old = byPos.put(field.pos, field);
+            if (old != null) unbucket(old); // stays queued; skipped when it expires
+
+            byChunk.computeIfAbsent(field.chunk, k -> new ArrayList<>(2)).add(field);
+            byExpiry.add(field);
+        }
+
+        void expire(long now) {
+            EchoField head;
+            while ((head = byExpiry.peek()) != null && now > head.expiresAtTick) {
+                byExpiry.poll();
+                if (byPos.get(head.pos) != head) continue; // already replaced
+                byPos.remove(head.pos);
+                unbucket(head);
+            }
+        }
+
+        private void unbucket(EchoField field) {
+            List<EchoField> bucket = byChunk.get(field.chunk);
+            if (bucket == null) return;
+            bucket.remove(field);
+            if (bucket.isEmpty()) byChunk.remove(field.chunk);
+        }
     }
 
     private static final class EchoField {
         final UUID owner;
-        final RegistryKey<World> originWorld;
+        final long pos;
+        final long chunk;
         final Vec3d originCenter;
+        final Box box;
 
         final RegistryKey<World> targetWorld;
         final BlockPos targetPos;
@@ -268,12 +304,14 @@ public class EchoRelocatorItem extends Item {
         final long expiresAtTick;
 
         EchoField(UUID owner,
-                  RegistryKey<World> originWorld, Vec3d originCenter,
+                  BlockPos originPos, Vec3d originCenter,
                   RegistryKey<World> targetWorld, BlockPos targetPos,
                   long expiresAtTick) {
             this.owner = owner;
-            this.originWorld = originWorld;
+            this.pos = originPos.asLong();
+            this.chunk = ChunkPos.toLong(originPos.getX() >> 4, originPos.getZ() >> 4);
             this.originCenter = originCenter;
+            this.box = new Box(originCenter, originCenter).expand(ECHO_FIELD_RADIUS, 1.5, ECHO_FIELD_RADIUS);
             this.targetWorld = targetWorld;
             this.targetPos = targetPos;
             this.expiresAtTick = expiresAtTick;
@@ -374,13 +412,13 @@ public class EchoRelocatorItem extends Item {
         long expires = originWorld.getServer().getTicks() + ECHO_FIELD_DURATION_TICKS;
         EchoField field = new EchoField(
                 player.getUuid(),
-                originWorld.getRegistryKey(),
+                originPos,
                 originCenter,
                 target.worldKey,
                 target.padPos,
                 expires
         );
-        ECHO_FIELDS.put(fieldKey(originWorld.getRegistryKey(), originPos), field);
+        ECHO_FIELDS.computeIfAbsent(originWorld.getRegistryKey(), k -> new FieldIndex()).add(field);
 
         return TypedActionResult.success(stack, false);
     }
@@ -416,7 +454,7 @@ public class EchoRelocatorItem extends Item {
     }
 
     private void spawnDust(ServerWorld world, BlockPos pos) {
-        world.spawnParticles(
+        ParticleBroadcast.spawn(world,
                 ParticleTypes.GLOW,
                 pos.getX() + 0.5,
                 pos.getY() + 1.0,
@@ -33,8 +33,11 @@ import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.RaycastContext;
 import net.minecraft.world.World;
 import net.pufferfish.anomaly.Anomaly;
+import net.pufferfish.anomaly.net.ParticleBroadcast;
+import net.pufferfish.anomaly.util.LivingEntityGrid;
 import org.joml.Vector3f;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class HextechCrossbowItem extends CrossbowItem {
@@ -448,8 +451,8 @@ public class HextechCrossbowItem extends CrossbowItem {
 
             // Glow trail + bursts (NEW)
             spawnGlowLine(world, camStart, p, 80);
-            world.spawnParticles(ParticleTypes.GLOW, camStart.x, camStart.y, camStart.z, 25, 0.25, 0.25, 0.25, 0.01);
-            world.spawnParticles(ParticleTypes.GLOW, p.x, p.y, p.z, 35, 0.35, 0.35, 0.35, 0.01);
+            ParticleBroadcast.spawn(world, ParticleTypes.GLOW, camStart.x, camStart.y, camStart.z, 25, 0.25, 0.25, 0.25, 0.01);
+            ParticleBroadcast.spawn(world, ParticleTypes.GLOW, p.x, p.y, p.z, 35, 0.35, 0.35, 0.35, 0.01);
 
             Vec3d safe = p.add(0, 1.0, 0);
 
@@ -518,42 +521,37 @@ public class HextechCrossbowItem extends CrossbowItem {
 
         Vec3d delta = end.subtract(start);
         int steps = 50;
+        int stride = ParticleBroadcast.request(world, ParticleBroadcast.Priority.CRITICAL, steps + 1);
         for (int i = 0; i <= steps; i++) {
+            if (i % stride != 0 && i != steps) continue;
             double t = i / (double) steps;
             Vec3d p = start.add(delta.multiply(t));
-            world.spawnParticles(dust, p.x, p.y, p.z, 1, 0.01, 0.01, 0.01, 0.0);
+            ParticleBroadcast.spawn(world, dust, p.x, p.y, p.z, 1, 0.01, 0.01, 0.01, 0.0,
+                    ParticleBroadcast.series(i, steps));
         }
     }
 
     private static void spawnGlowLine(ServerWorld world, Vec3d start, Vec3d end, int points) {
         Vec3d delta = end.subtract(start);
+        int stride = ParticleBroadcast.request(world, ParticleBroadcast.Priority.CRITICAL, points + 1);
         for (int i = 0; i <= points; i++) {
+            if (i % stride != 0 && i != points) continue;
             double t = i / (double) points;
             Vec3d p = start.add(delta.multiply(t));
-            world.spawnParticles(ParticleTypes.GLOW, p.x, p.y, p.z, 1, 0.02, 0.02, 0.02, 0.0);
+            ParticleBroadcast.spawn(world, ParticleTypes.GLOW, p.x, p.y, p.z, 1, 0.02, 0.02, 0.02, 0.0,
+                    ParticleBroadcast.series(i, points));
         }
     }
 
     private static void killAlongBeam(ServerWorld world, PlayerEntity shooter, Vec3d start, Vec3d end, double radius) {
-        Box box = new Box(start, end).expand(radius);
-
-        Vec3d ab = end.subtract(start);
-        double abLen2 = ab.lengthSquared();
-        if (abLen2 < 1.0e-6) return;
-
-        for (Entity e : world.getOtherEntities(shooter, box, ent -> ent instanceof LivingEntity le && le.isAlive())) {
-            LivingEntity le = (LivingEntity) e;
-
-            Vec3d p = le.getPos().add(0.0, le.getHeight() * 0.5, 0.0);
-
-            double t = p.subtract(start).dotProduct(ab) / abLen2;
-            t = Math.max(0.0, Math.min(1.0, t));
-            Vec3d closest = start.add(ab.multiply(t));
-
-            if (p.distanceTo(closest) <= radius) {
-                le.damage(world.getDamageSources().magic(), 10000.0f);
-                le.setHealth(0.0f);
-            }
+        if (start.squaredDistanceTo(end) < 1.0e-6) return;
+
+        List<LivingEntity> hit = new ArrayList<>();
+        LivingEntityGrid.get(world).collectCentres(start, end, radius, hit);
+        for (LivingEntity le : hit) {
+            if (le == shooter) continue;
+            le.damage(world.getDamageSources().magic(), 10000.0f);
+            le.setHealth(0.0f);
         }
     }
 
@@ -24,6 +24,7 @@ import net.minecraft.util.Formatting;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
+import net.pufferfish.anomaly.net.HextechEffects;
 import net.pufferfish.anomaly.sound.ModSounds;
 import org.joml.Vector3f;
 
@@ -265,19 +266,10 @@ public class RuneforgedCrownItem extends ArmorItem {
         int steps = 22;
         int points = 72;
 
-        for (int i = 0; i < steps; i++) {
-            double r = (i / (double) (steps - 1)) * RADIUS;
-            for (int p = 0; p < points; p++) {
-                double a = (Math.PI * 2) * (p / (double) points);
-                world.spawnParticles(
-                        CYAN_DUST,
-                        center.x + Math.cos(a) * r,
-                        center.y,
-                        center.z + Math.sin(a) * r,
-                        1, 0, 0, 0, 0
-                );
-            }
-        }
+        // Same 22 x 72 disc as before, expanded on the client (see HextechEffects)
+        HextechEffects.begin(0x00FFFF, 1.25f)
+                .ringBand(center, new Vec3d(0, 1, 0), 0.0, RADIUS, points, steps)
+                .send(world);
     }
 
     /* ---------------- Bossbar Cooldown UI ---------------- */
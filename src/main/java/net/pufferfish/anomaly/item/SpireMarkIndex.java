@@ -0,0 +1,96 @@
+package net.pufferfish.anomaly.item;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Server-side index of the spires each player's Spire Marks are bound to.
+ *
+ * Spires used to walk the whole inventory and every mark's bind list per candidate. Here each
+ * player gets a dimension -> packed spire position set, rebuilt only when their inventory change
+ * count moves, when any mark gains or loses a bind, or when a slot is written or emptied directly
+ * (see PlayerInventoryMixin; not all of those bump the change count). The check itself is one set
+ * probe.
+ */
+public final class SpireMarkIndex {
+
+    private static final Map<UUID, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    /** Bumped by {@link SpireMarkItem#addBind}/{@link SpireMarkItem#popLastBind}. */
+    private static volatile int bindEpoch;
+
+    private SpireMarkIndex() {}
+
+    public static void init() {
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> ENTRIES.remove(handler.getPlayer().getUuid()));
+    }
+
+    static void onBindsChanged() {
+        bindEpoch++;
+    }
+
+    /** A slot of this player's inventory was replaced or emptied. */
+    public static void onInventoryChanged(PlayerEntity player) {
+        Entry e = ENTRIES.get(player.getUuid());
+        if (e != null) e.stale = true;
+    }
+
+    /** True if the player carries a Spire Mark bound to this spire. */
+    public static boolean isExempt(PlayerEntity player, RegistryKey<World> dim, BlockPos spire) {
+        Entry e = ENTRIES.computeIfAbsent(player.getUuid(), k -> new Entry());
+        PlayerInventory inv = player.getInventory();
+        if (e.stale || e.changeCount != inv.getChangeCount() || e.epoch != bindEpoch) e.rebuild(inv);
+
+        LongOpenHashSet spires = e.binds.get(dim);
+        return spires != null && spires.contains(spire.asLong());
+    }
+
+    private static final class Entry {
+        int changeCount = -1;
+        int epoch = -1;
+        boolean stale;
+        final Map<RegistryKey<World>, LongOpenHashSet> binds = new HashMap<>();
+
+        void rebuild(PlayerInventory inv) {
+            changeCount = inv.getChangeCount();
+            epoch = bindEpoch;
+            stale = false;
+            binds.clear();
+
+            for (int i = 0; i < inv.size(); i++) {
+                ItemStack stack = inv.getStack(i);
+                if (!stack.isOf(ModItems.SPIRE_MARK)) continue;
+
+                NbtCompound tag = stack.getNbt();
+                if (tag == null || !tag.contains(SpireMarkItem.NBT_BINDS, NbtElement.LIST_TYPE)) continue;
+
+                NbtList list = tag.getList(SpireMarkItem.NBT_BINDS, NbtElement.COMPOUND_TYPE);
+                for (int j = 0; j < list.size(); j++) {
+                    NbtCompound c = list.getCompound(j);
+                    Identifier id = Identifier.tryParse(c.getString(SpireMarkItem.KEY_DIM));
+                    if (id == null) continue;
+
+                    RegistryKey<World> dim = RegistryKey.of(RegistryKeys.WORLD, id);
+                    binds.computeIfAbsent(dim, k -> new LongOpenHashSet())
+                            .add(BlockPos.asLong(c.getInt(SpireMarkItem.KEY_X), c.getInt(SpireMarkItem.KEY_Y), c.getInt(SpireMarkItem.KEY_Z)));
+                }
+            }
+        }
+    }
+}
@@ -60,6 +60,7 @@ public class SpireMarkItem extends Item {
         c.putInt(KEY_Y, y);
         c.putInt(KEY_Z, z);
         list.add(c);
+        SpireMarkIndex.onBindsChanged();
 
         return true;
     }
@@ -75,6 +76,7 @@ public class SpireMarkItem extends Item {
         int last = list.size() - 1;
         NbtCompound removed = list.getCompound(last).copy();
         list.remove(last);
+        SpireMarkIndex.onBindsChanged();
 
         // cleanup if empty
         if (list.isEmpty()) tag.remove(NBT_BINDS);
@@ -8,7 +8,6 @@ import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.particle.DustParticleEffect;
 import net.minecraft.particle.ParticleTypes;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.server.MinecraftServer;
@@ -20,7 +19,8 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
-import org.joml.Vector3f;
+
+import net.pufferfish.anomaly.net.HextechEffects;
 
 public final class TotemOfForcefieldItem extends Item {
 
@@ -135,20 +135,10 @@ public final class TotemOfForcefieldItem extends Item {
         ServerWorld world = (ServerWorld) player.getWorld();
         Vec3d c = player.getPos().add(0.0, 1.0, 0.0);
 
-        DustParticleEffect cyan = new DustParticleEffect(new Vector3f(0f, 1f, 1f), 1.2f);
-
-        for (int i = 0; i < steps; i++) {
-            double t = (steps <= 1) ? 1.0 : (double) i / (double) (steps - 1);
-            double r = startR + t * (endR - startR);
-
-            for (int p = 0; p < pointsPerRing; p++) {
-                double ang = (Math.PI * 2.0) * (p / (double) pointsPerRing);
-                double x = c.x + Math.cos(ang) * r;
-                double z = c.z + Math.sin(ang) * r;
-
-                world.spawnParticles(cyan, x, c.y, z, 1, 0, 0, 0, 0.0);
-            }
-        }
+        // One flat band of `steps` rings, expanded on the client
+        HextechEffects.begin(0x00FFFF, 1.2f)
+                .ringBand(c, new Vec3d(0, 1, 0), startR, endR, pointsPerRing, steps)
+                .send(world);
     }
 
     private static void teleportToSpawnAndBoom(ServerPlayerEntity player) {
@@ -0,0 +1,676 @@
+package net.pufferfish.anomaly.mesh;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+import net.pufferfish.anomaly.Anomaly;
+import net.pufferfish.anomaly.block.ModBlocks;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Per-world index of Hextech cable networks.
+ *
+ * Devices used to flood-fill the connector graph (capped at 8192 blocks) every time they needed
+ * their mesh count or their terminal. The index keeps a two-level model instead:
+ * - each chunk keeps a summary of its local sub-components: mesh count, adjacent
+ *   terminals and the boundary ports where a component leaves the chunk
+ * - networks are stitched across chunks from those ports only, so a network costs roughly one
+ *   node per chunk it spans, however many blocks it has
+ *
+ * A block change only drops the summary of its chunk (and of the neighbouring chunk when it sits
+ * on the border) together with the networks passing through; both are rebuilt lazily on the next
+ * device query.
+ *
+ * Two layers are kept because the two lookups walk different graphs:
+ * - MESH: connectors + diamond mesh, used for mesh counts
+ * - LINK: connectors only, used to relay the teleporter terminal
+ *
+ * Blocks are read straight from loaded chunk sections; chunks are never loaded. A port only
+ * survives if a network block sits across the face; ports into unloaded chunks are kept unresolved.
+ * A network is flagged incomplete when such a port meets a network block that chunk had on its
+ * border when it was last read, and it is rebuilt once the chunk loads.
+ *
+ * Dense chunks (a cable trunk, a mesh bank) are not analysed on the server thread: their relevant
+ * sections are copied and analysed on the worker pool, and the result is swapped in at the next
+ * world tick. A changed chunk is snapshotted at the end of the tick and its old summary keeps
+ * answering until then, so devices keep their last known mesh count. A chunk seen for the first
+ * time (after login or a reload) is snapshotted on the query and reads as not loaded until its
+ * summary is in; networks reaching it are rebuilt then, like for a chunk that loads.
+ */
+public final class HextechNetworkIndex {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Chunks with at least this many network blocks are analysed off-thread. */
+    private static final int ASYNC_MIN_BLOCKS = 1024;
+
+    /** Cached "device has no terminal"; never produced by BlockPos.asLong inside the world border. */
+    private static final long NO_TERMINAL = Long.MIN_VALUE;
+    /** Same cap the devices' own connector walk had. */
+    private static final int TERMINAL_SEARCH_LIMIT = 8192;
+
+    private static final Map<RegistryKey<World>, HextechNetworkIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final ServerWorld world;
+    private final MeshTraversal traversal = new MeshTraversal();
+    private final SectionScanner scanner;
+    private final Layer mesh = new Layer(false);
+    private final Layer link = new Layer(true);
+    /**
+     * Device -> terminal it relays to. Hubs ask on every entry attempt, so the answer is kept until a
+     * terminal is placed/broken or a connector network changes.
+     */
+    private final Long2LongOpenHashMap terminalCache = new Long2LongOpenHashMap();
+    /** Finished off-thread analyses, committed on the server thread. */
+    private final ConcurrentLinkedQueue<Rebuild> finished = new ConcurrentLinkedQueue<>();
+    private int nextNetworkId;
+
+    private HextechNetworkIndex(ServerWorld world) {
+        this.world = world;
+        this.scanner = new SectionScanner(world, s -> isConnector(s) || isDiamondMesh(s) || isTerminal(s));
+    }
+
+    public static void init() {
+        ServerWorldEvents.UNLOAD.register((server, world) -> INDEXES.remove(world.getRegistryKey()));
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+            HextechNetworkIndex idx = lookup(world);
+            if (idx != null) idx.onChunkLoaded(chunk.getPos().toLong());
+        });
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            HextechNetworkIndex idx = lookup(world);
+            if (idx != null) idx.onChunkUnloaded(chunk.getPos().toLong());
+        });
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            HextechNetworkIndex idx = lookup(world);
+            if (idx != null) idx.tick();
+        });
+    }
+
+    public static HextechNetworkIndex get(ServerWorld world) {
+        HextechNetworkIndex idx = INDEXES.get(world.getRegistryKey());
+        if (idx == null || idx.world != world) {
+            idx = new HextechNetworkIndex(world);
+            INDEXES.put(world.getRegistryKey(), idx);
+        }
+        return idx;
+    }
+
+    @Nullable
+    private static HextechNetworkIndex lookup(ServerWorld world) {
+        HextechNetworkIndex idx = INDEXES.get(world.getRegistryKey());
+        return idx != null && idx.world == world ? idx : null;
+    }
+
+    /* ---------- block predicates ---------- */
+
+    public static boolean isConnector(BlockState s)   { return s.isOf(ModBlocks.CABLE_CONNECTOR); }
+    public static boolean isDiamondMesh(BlockState s) { return s.isOf(ModBlocks.DIAMOND_MESH); }
+    public static boolean isTerminal(BlockState s)    { return s.isOf(ModBlocks.TELEPORTER_TERMINAL); }
+
+    /* ---------- queries ---------- */
+
+    /** Diamond mesh reachable from the device through connectors/mesh, summed over every network it touches. */
+    public int meshCount(BlockPos device) {
+        Network[] counted = new Network[DIRECTIONS.length];
+        int n = 0;
+        int total = 0;
+
+        for (Direction d : DIRECTIONS) {
+            Network net = mesh.networkAt(BlockPos.offset(device.asLong(), d));
+            if (net == null) continue;
+
+            boolean seen = false;
+            for (int i = 0; i < n && !seen; i++) seen = counted[i] == net;
+            if (seen) continue;
+
+            counted[n++] = net;
+            total += net.meshes;
+        }
+        return total;
+    }
+
+    /**
+     * Terminal relayed to the device: the first one reached walking the connectors outward from
+     * the device, i.e. the fewest hops away (an adjacent terminal wins).
+     */
+    @Nullable
+    public BlockPos findTerminal(BlockPos device) {
+        long key = device.asLong();
+        if (terminalCache.containsKey(key)) {
+            long t = terminalCache.get(key);
+            return t == NO_TERMINAL ? null : BlockPos.fromLong(t);
+        }
+
+        BlockPos terminal = resolveTerminal(device);
+        terminalCache.put(key, terminal == null ? NO_TERMINAL : terminal.asLong());
+        return terminal;
+    }
+
+    @Nullable
+    private BlockPos resolveTerminal(BlockPos device) {
+        scanner.begin();
+        for (Direction d : DIRECTIONS) {
+            BlockPos p = device.offset(d);
+            BlockState s = scanner.get(p);
+            if (s != null && isTerminal(s)) return p;
+        }
+
+        long only = NO_TERMINAL;
+        for (Direction d : DIRECTIONS) {
+            Network net = link.networkAt(BlockPos.offset(device.asLong(), d));
+            if (net == null) continue;
+
+            LongIterator it = net.terminals.iterator();
+            while (it.hasNext()) {
+                long t = it.nextLong();
+                if (only == NO_TERMINAL) only = t;
+                else if (only != t) return nearestByHops(device);
+            }
+        }
+        return only == NO_TERMINAL ? null : BlockPos.fromLong(only);
+    }
+
+    /** Several candidates: breadth-first over the connectors, as the devices used to walk. */
+    @Nullable
+    private BlockPos nearestByHops(BlockPos device) {
+        long seed = device.asLong();
+        long[] hit = {NO_TERMINAL};
+        scanner.begin();
+        traversal.walk(seed, TERMINAL_SEARCH_LIMIT, (pos, at) -> {
+            BlockState s = scanner.get(pos);
+            return s != null && (isConnector(s) || isTerminal(s));
+        }, pos -> {
+            if (pos == seed) return true;
+            BlockState s = scanner.get(pos);
+            if (s == null || !isTerminal(s)) return true;
+            hit[0] = pos;
+            return false;
+        });
+        return hit[0] == NO_TERMINAL ? null : BlockPos.fromLong(hit[0]);
+    }
+
+    /**
+     * Id of the first mesh network touching the device, or -1. Devices on the same network get the
+     * same id until a chunk the network spans changes; after that the network gets a new one.
+     */
+    public int meshNetworkId(BlockPos device) {
+        for (Direction d : DIRECTIONS) {
+            Network net = mesh.networkAt(BlockPos.offset(device.asLong(), d));
+            if (net != null) return net.id;
+        }
+        return -1;
+    }
+
+    /** True if any network touching the device runs into a chunk that is not loaded. */
+    public boolean reachesUnloaded(BlockPos device) {
+        for (Direction d : DIRECTIONS) {
+            Network net = mesh.networkAt(BlockPos.offset(device.asLong(), d));
+            if (net != null && net.incomplete) return true;
+        }
+        return false;
+    }
+
+    /* ---------- block hooks ---------- */
+
+    public void onNetworkBlockAdded(BlockPos pos, BlockState state) {
+        mesh.invalidateAround(pos.asLong());
+        if (isConnector(state)) link.invalidateAround(pos.asLong());
+    }
+
+    public void onNetworkBlockRemoved(BlockPos pos, BlockState oldState) {
+        mesh.invalidateAround(pos.asLong());
+        if (isConnector(oldState)) link.invalidateAround(pos.asLong());
+    }
+
+    public void onTerminalAdded(BlockPos pos) {
+        terminalCache.clear();
+        link.invalidateAround(pos.asLong());
+    }
+
+    public void onTerminalRemoved(BlockPos pos) {
+        terminalCache.clear();
+        link.invalidateAround(pos.asLong());
+    }
+
+    private void tick() {
+        Rebuild r;
+        while ((r = finished.poll()) != null) r.layer.commit(r);
+
+        mesh.submitDirty();
+        link.submitDirty();
+    }
+
+    private void onChunkLoaded(long chunkKey) {
+        mesh.chunkLoaded(chunkKey);
+        link.chunkLoaded(chunkKey);
+    }
+
+    private void onChunkUnloaded(long chunkKey) {
+        mesh.drop(chunkKey);
+        link.drop(chunkKey);
+    }
+
+    /* ---------- model ---------- */
+
+    /** Connected part of a network inside one chunk. */
+    private static final class Local {
+        int meshes;
+        /** LINK layer only: terminals adjacent to any block of the component. */
+        final LongOpenHashSet terminals = new LongOpenHashSet();
+        /**
+         * Positions just outside the chunk that a block of the component faces and that hold a
+         * network block, or lie in a chunk that was not loaded when the summary was built.
+         */
+        final LongArrayList ports = new LongArrayList();
+        @Nullable Network network;
+    }
+
+    private static final class ChunkSummary {
+        /** Network block -> index into {@link #locals}. */
+        final Long2IntOpenHashMap local = new Long2IntOpenHashMap();
+        final List<Local> locals = new ArrayList<>();
+        /** Changed since it was built; a snapshot is taken at the end of the tick. */
+        boolean dirty;
+        /** Off-thread analysis that will replace this summary, if any. */
+        @Nullable Rebuild pending;
+
+        ChunkSummary() {
+            local.defaultReturnValue(-1);
+        }
+
+        @Nullable
+        Local at(long pos) {
+            int i = local.get(pos);
+            return i < 0 ? null : locals.get(i);
+        }
+    }
+
+    /** Section snapshot of one chunk, analysed on the worker pool. */
+    private static final class Rebuild {
+        final Layer layer;
+        final long chunkKey;
+        final int bottomSection;
+        final PalettedContainer<BlockState>[] sections;
+        @Nullable ChunkSummary result;
+
+        Rebuild(Layer layer, long chunkKey, int bottomSection, PalettedContainer<BlockState>[] sections) {
+            this.layer = layer;
+            this.chunkKey = chunkKey;
+            this.bottomSection = bottomSection;
+            this.sections = sections;
+        }
+    }
+
+    /** Locals stitched together through their ports. */
+    private static final class Network {
+        final int id;
+        int meshes;
+        final LongOpenHashSet terminals = new LongOpenHashSet();
+        /** Some port led into an unloaded chunk that had a network block there when last read. */
+        boolean incomplete;
+        /** Cleared when a chunk it spans changes; its locals then re-stitch on the next query. */
+        boolean valid = true;
+
+        Network(int id) {
+            this.id = id;
+        }
+    }
+
+    private final class Layer {
+        final boolean tracksTerminals;
+        final Long2ObjectOpenHashMap<ChunkSummary> chunks = new Long2ObjectOpenHashMap<>();
+        /** Incomplete networks by the unloaded chunk they stopped at. */
+        final Long2ObjectOpenHashMap<List<Network>> waiting = new Long2ObjectOpenHashMap<>();
+        /** Network blocks on each chunk's outer columns as last read; kept after the chunk unloads. */
+        final Long2ObjectOpenHashMap<LongOpenHashSet> borders = new Long2ObjectOpenHashMap<>();
+        /** Dense chunks without a summary yet, analysed off-thread; they read as not loaded meanwhile. */
+        final Long2ObjectOpenHashMap<Rebuild> building = new Long2ObjectOpenHashMap<>();
+        /** Dense chunks changed this tick, waiting for their snapshot. */
+        final LongOpenHashSet dirty = new LongOpenHashSet();
+
+        Layer(boolean tracksTerminals) {
+            this.tracksTerminals = tracksTerminals;
+        }
+
+        boolean accepts(@Nullable BlockState s) {
+            return HextechNetworkIndex.accepts(tracksTerminals, s);
+        }
+
+        @Nullable
+        Network networkAt(long pos) {
+            ChunkSummary s = summary(chunkOf(pos));
+            if (s == null) return null;
+            Local l = s.at(pos);
+            return l == null ? null : network(l);
+        }
+
+        /* ----- chunk level ----- */
+
+        @Nullable
+        ChunkSummary summary(long chunkKey) {
+            ChunkSummary s = chunks.get(chunkKey);
+            if (s == null) {
+                if (building.containsKey(chunkKey)) return null;
+                WorldChunk chunk = loadedChunk(chunkKey);
+                if (chunk == null) return null;
+
+                if (networkBlocks(chunk) >= ASYNC_MIN_BLOCKS) {
+                    Rebuild r = new Rebuild(this, chunkKey, chunk.getBottomSectionCoord(), sections(chunk, true));
+                    building.put(chunkKey, r);
+                    submit(r);
+                    return null;
+                }
+                s = analyze(chunkKey, chunk.getBottomSectionCoord(), sections(chunk, false), tracksTerminals, traversal);
+                resolveBorder(chunkKey, s);
+                chunks.put(chunkKey, s);
+            }
+            return s;
+        }
+
+        /** Blocks of this layer in the chunk, counted from the section palettes' storage without a walk. */
+        private int networkBlocks(WorldChunk chunk) {
+            int[] n = {0};
+            for (ChunkSection sec : chunk.getSectionArray()) {
+                if (sec.isEmpty() || !sec.hasAny(this::accepts)) continue;
+                sec.getBlockStateContainer().count((state, count) -> {
+                    if (accepts(state)) n[0] += count;
+                });
+            }
+            return n[0];
+        }
+
+        /**
+         * Block containers of the chunk's sections that hold network blocks (or terminals), null for
+         * the rest. Copied when the result leaves the server thread.
+         */
+        private PalettedContainer<BlockState>[] sections(WorldChunk chunk, boolean copy) {
+            ChunkSection[] src = chunk.getSectionArray();
+            @SuppressWarnings("unchecked")
+            PalettedContainer<BlockState>[] out = new PalettedContainer[src.length];
+            for (int i = 0; i < src.length; i++) {
+                ChunkSection sec = src[i];
+                if (sec.isEmpty() || !sec.hasAny(s -> accepts(s) || (tracksTerminals && isTerminal(s)))) continue;
+                out[i] = copy ? sec.getBlockStateContainer().copy() : sec.getBlockStateContainer();
+            }
+            return out;
+        }
+
+        /**
+         * Blocks across the chunk border can only be read on the server thread. Ports facing a
+         * loaded block that is not part of the layer are dropped (a terminal there is recorded
+         * first); ports into unloaded chunks stay. Also remembers the chunk's own border blocks.
+         */
+        private void resolveBorder(long chunkKey, ChunkSummary summary) {
+            scanner.begin();
+            for (Local l : summary.locals) {
+                int kept = 0;
+                for (int i = 0; i < l.ports.size(); i++) {
+                    long q = l.ports.getLong(i);
+                    BlockState s = scanner.get(q);
+                    if (s != null) {
+                        if (tracksTerminals && isTerminal(s)) l.terminals.add(q);
+                        if (!accepts(s)) continue;
+                    }
+                    l.ports.set(kept++, q);
+                }
+                l.ports.size(kept);
+            }
+
+            LongOpenHashSet edge = new LongOpenHashSet();
+            LongIterator it = summary.local.keySet().iterator();
+            while (it.hasNext()) {
+                long p = it.nextLong();
+                int x = BlockPos.unpackLongX(p) & 15;
+                int z = BlockPos.unpackLongZ(p) & 15;
+                if (x == 0 || x == 15 || z == 0 || z == 15) edge.add(p);
+            }
+            if (edge.isEmpty()) borders.remove(chunkKey);
+            else borders.put(chunkKey, edge);
+        }
+
+        /**
+         * A block changed in the chunk. Small chunks are dropped and rebuilt on the next query;
+         * dense ones keep answering and get re-analysed off-thread.
+         */
+        void invalidate(long chunkKey) {
+            // A first build in flight read the old blocks; the next query starts over
+            if (building.remove(chunkKey) != null) return;
+            ChunkSummary s = chunks.get(chunkKey);
+            if (s == null) return;
+            if (s.local.size() < ASYNC_MIN_BLOCKS) {
+                drop(chunkKey);
+                return;
+            }
+            if (!s.dirty) {
+                s.dirty = true;
+                dirty.add(chunkKey);
+            }
+        }
+
+        /** Drops the chunk's summary and every network passing through it. */
+        void drop(long chunkKey) {
+            building.remove(chunkKey);
+            ChunkSummary s = chunks.remove(chunkKey);
+            if (s == null) return;
+            if (tracksTerminals) terminalCache.clear();
+            for (Local l : s.locals) {
+                if (l.network != null) l.network.valid = false;
+            }
+        }
+
+        /** A block changed at {@code pos}: its chunk and any chunk it borders lose their summaries. */
+        void invalidateAround(long pos) {
+            int x = BlockPos.unpackLongX(pos);
+            int z = BlockPos.unpackLongZ(pos);
+            int cx = x >> 4;
+            int cz = z >> 4;
+
+            invalidate(ChunkPos.toLong(cx, cz));
+            if ((x & 15) == 0)  invalidate(ChunkPos.toLong(cx - 1, cz));
+            if ((x & 15) == 15) invalidate(ChunkPos.toLong(cx + 1, cz));
+            if ((z & 15) == 0)  invalidate(ChunkPos.toLong(cx, cz - 1));
+            if ((z & 15) == 15) invalidate(ChunkPos.toLong(cx, cz + 1));
+        }
+
+        /** End of tick: snapshot every dirty chunk once, however many blocks changed in it. */
+        void submitDirty() {
+            if (dirty.isEmpty()) return;
+
+            LongIterator it = dirty.iterator();
+            while (it.hasNext()) {
+                long ck = it.nextLong();
+                ChunkSummary s = chunks.get(ck);
+                if (s == null || !s.dirty) continue;
+
+                WorldChunk chunk = loadedChunk(ck);
+                if (chunk == null) {
+                    drop(ck);
+                    continue;
+                }
+
+                Rebuild r = new Rebuild(this, ck, chunk.getBottomSectionCoord(), sections(chunk, true));
+                s.dirty = false;
+                s.pending = r;
+                submit(r);
+            }
+            dirty.clear();
+        }
+
+        /** Analyses the snapshot on the worker pool; it comes back through {@link #finished} either way. */
+        private void submit(Rebuild r) {
+            CompletableFuture.runAsync(() -> {
+                r.result = analyze(r.chunkKey, r.bottomSection, r.sections, tracksTerminals, new MeshTraversal());
+                finished.add(r);
+            }, Util.getMainWorkerExecutor()).exceptionally(e -> {
+                Anomaly.LOGGER.error("Hextech network analysis failed for chunk {}", new ChunkPos(r.chunkKey), e);
+                finished.add(r);
+                return null;
+            });
+        }
+
+        /**
+         * Swaps in a finished analysis unless the chunk changed or unloaded since the snapshot. A first
+         * build also wakes the networks that stopped at the chunk while it read as not loaded.
+         */
+        void commit(Rebuild r) {
+            if (building.get(r.chunkKey) == r) {
+                building.remove(r.chunkKey);
+                if (r.result == null) return;
+
+                resolveBorder(r.chunkKey, r.result);
+                chunks.put(r.chunkKey, r.result);
+                if (tracksTerminals) terminalCache.clear();
+                chunkLoaded(r.chunkKey);
+                return;
+            }
+
+            ChunkSummary old = chunks.get(r.chunkKey);
+            if (old == null || old.pending != r || old.dirty || r.result == null) return;
+
+            resolveBorder(r.chunkKey, r.result);
+            drop(r.chunkKey);
+            chunks.put(r.chunkKey, r.result);
+        }
+
+        void chunkLoaded(long chunkKey) {
+            List<Network> w = waiting.remove(chunkKey);
+            if (w == null) return;
+            if (tracksTerminals) terminalCache.clear();
+            for (Network n : w) n.valid = false;
+        }
+
+        /* ----- network level ----- */
+
+        Network network(Local start) {
+            if (start.network != null && start.network.valid) return start.network;
+
+            Network net = new Network(nextNetworkId++);
+            LongOpenHashSet missing = new LongOpenHashSet();
+            ArrayDeque<Local> queue = new ArrayDeque<>();
+            start.network = net;
+            queue.add(start);
+
+            Local l;
+            while ((l = queue.poll()) != null) {
+                net.meshes += l.meshes;
+                net.terminals.addAll(l.terminals);
+
+                for (int i = 0; i < l.ports.size(); i++) {
+                    long q = l.ports.getLong(i);
+                    long ck = chunkOf(q);
+                    ChunkSummary s = summary(ck);
+                    if (s == null) {
+                        LongOpenHashSet edge = borders.get(ck);
+                        if (edge != null && edge.contains(q)) net.incomplete = true;
+                        if (missing.add(ck)) waiting.computeIfAbsent(ck, k -> new ArrayList<>(1)).add(net);
+                        continue;
+                    }
+
+                    Local o = s.at(q);
+                    if (o == null || o.network == net) continue;
+                    o.network = net;
+                    queue.add(o);
+                }
+            }
+            return net;
+        }
+    }
+
+    @Nullable
+    private WorldChunk loadedChunk(long chunkKey) {
+        return world.getChunkManager().getWorldChunk(ChunkPos.getPackedX(chunkKey), ChunkPos.getPackedZ(chunkKey));
+    }
+
+    private static boolean accepts(boolean tracksTerminals, @Nullable BlockState s) {
+        return s != null && (isConnector(s) || (!tracksTerminals && isDiamondMesh(s)));
+    }
+
+    /**
+     * Builds a chunk summary from its section containers. Touches nothing but its arguments, so it
+     * runs on the server thread for small chunks and on the worker pool for snapshots.
+     */
+    private static ChunkSummary analyze(long chunkKey, int bottomSection, PalettedContainer<BlockState>[] sections,
+                                        boolean tracksTerminals, MeshTraversal traversal) {
+        int baseX = ChunkPos.getPackedX(chunkKey) << 4;
+        int baseZ = ChunkPos.getPackedZ(chunkKey) << 4;
+
+        PackedPosSet members = new PackedPosSet();
+        PackedPosSet meshes = new PackedPosSet();
+
+        for (int i = 0; i < sections.length; i++) {
+            PalettedContainer<BlockState> sec = sections[i];
+            if (sec == null) continue;
+
+            int baseY = (bottomSection + i) << 4;
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        BlockState s = sec.get(x, y, z);
+                        if (!accepts(tracksTerminals, s)) continue;
+                        long p = BlockPos.asLong(baseX + x, baseY + y, baseZ + z);
+                        members.add(p);
+                        if (isDiamondMesh(s)) meshes.add(p);
+                    }
+                }
+            }
+        }
+
+        ChunkSummary summary = new ChunkSummary();
+        members.forEach(seed -> {
+            if (summary.local.containsKey(seed)) return;
+
+            Local l = new Local();
+            traversal.walk(seed, Integer.MAX_VALUE, (pos, at) -> {
+                if (members.contains(pos)) return true;
+
+                if (chunkOf(pos) != chunkKey) {
+                    l.ports.add(pos);
+                } else if (tracksTerminals) {
+                    int si = (BlockPos.unpackLongY(pos) >> 4) - bottomSection;
+                    PalettedContainer<BlockState> sec = si >= 0 && si < sections.length ? sections[si] : null;
+                    if (sec != null && isTerminal(sec.get(BlockPos.unpackLongX(pos) & 15, BlockPos.unpackLongY(pos) & 15, BlockPos.unpackLongZ(pos) & 15))) {
+                        l.terminals.add(pos);
+                    }
+                }
+                return false;
+            }, pos -> {
+                if (meshes.contains(pos)) l.meshes++;
+                return true;
+            });
+
+            int index = summary.locals.size();
+            summary.locals.add(l);
+            traversal.visited().forEach(p -> summary.local.put(p, index));
+        });
+        return summary;
+    }
+
+    private static long chunkOf(long pos) {
+        return ChunkPos.toLong(BlockPos.unpackLongX(pos) >> 4, BlockPos.unpackLongZ(pos) >> 4);
+    }
+}
@@ -0,0 +1,105 @@
+package net.pufferfish.anomaly.mesh;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+/**
+ * Breadth-first walk over packed block positions, shared by everything that still needs a full
+ * network walk (index discovery, split recovery, diagnostics).
+ *
+ * One instance is reused per world: the visited set is a {@link PackedPosSet}, the queue is a
+ * {@code long[]} ring buffer and neighbours are probed through a single {@link BlockPos.Mutable},
+ * so a walk allocates nothing per visited node. Not thread-safe, and not re-entrant.
+ */
+public final class MeshTraversal {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Decides whether a neighbour joins the walk. {@code at} is positioned on {@code pos}. */
+    @FunctionalInterface
+    public interface Step {
+        boolean enter(long pos, BlockPos.Mutable at);
+    }
+
+    /** Called for every dequeued node; return false to end the walk early. */
+    @FunctionalInterface
+    public interface Visit {
+        boolean visit(long pos);
+    }
+
+    private final PackedPosSet visited = new PackedPosSet(1024);
+    private final BlockPos.Mutable cursor = new BlockPos.Mutable();
+    private long[] queue = new long[256];
+    private int head, tail, count;
+    private boolean stopped;
+
+    /**
+     * Walks from {@code seed}, which is always part of the walk.
+     *
+     * @return number of visited nodes, or -1 if more than {@code limit} were reached
+     */
+    public int walk(long seed, int limit, Step step, Visit visit) {
+        visited.clear();
+        head = tail = count = 0;
+        stopped = false;
+
+        visited.add(seed);
+        push(seed);
+
+        while (count > 0) {
+            if (visited.size() > limit) return -1;
+
+            long cur = poll();
+            if (visit != null && !visit.visit(cur)) {
+                stopped = true;
+                break;
+            }
+
+            for (Direction d : DIRECTIONS) {
+                long nk = BlockPos.offset(cur, d);
+                if (visited.contains(nk)) continue;
+
+                cursor.set(nk);
+                if (step.enter(nk, cursor)) {
+                    visited.add(nk);
+                    push(nk);
+                }
+            }
+        }
+        return visited.size();
+    }
+
+    /** True if the last walk was ended by its {@link Visit}. */
+    public boolean stopped() {
+        return stopped;
+    }
+
+    /** Nodes reached by the last walk; only valid until the next one starts. */
+    public PackedPosSet visited() {
+        return visited;
+    }
+
+    private void push(long v) {
+        if (count == queue.length) grow();
+        queue[tail] = v;
+        tail = (tail + 1) & (queue.length - 1);
+        count++;
+    }
+
+    private long poll() {
+        long v = queue[head];
+        head = (head + 1) & (queue.length - 1);
+        count--;
+        return v;
+    }
+
+    private void grow() {
+        long[] next = new long[queue.length << 1];
+        for (int i = 0; i < count; i++) {
+            next[i] = queue[(head + i) & (queue.length - 1)];
+        }
+        queue = next;
+        head = 0;
+        tail = count;
+    }
+}
@@ -0,0 +1,115 @@
+package net.pufferfish.anomaly.mesh;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing set of packed block positions ({@link net.minecraft.util.math.BlockPos#asLong}).
+ * Linear probing, no boxing; {@link #clear()} keeps the table so a reused set stops allocating
+ * once it has grown to the usual network size. The key used to mark free slots is kept in a flag
+ * beside the table, so every long can be stored.
+ */
+public final class PackedPosSet {
+    /** Free slot. Never produced by BlockPos.asLong inside the world border (x would be -2^25). */
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    /** Tables bigger than this are dropped on clear instead of being kept around. */
+    private static final int RETAIN_CAPACITY = 1 << 16;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    /** {@link #EMPTY} itself is in the set; it is counted in {@link #size} but not in the table. */
+    private boolean containsEmpty;
+
+    public PackedPosSet() {
+        this(64);
+    }
+
+    public PackedPosSet(int expected) {
+        allocate(tableSizeFor(expected));
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) return containsEmpty;
+        int i = slot(key);
+        while (true) {
+            long k = table[i];
+            if (k == EMPTY) return false;
+            if (k == key) return true;
+            i = (i + 1) & mask;
+        }
+    }
+
+    /** @return true if the key was not present yet */
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsEmpty) return false;
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+        int i = slot(key);
+        while (true) {
+            long k = table[i];
+            if (k == EMPTY) break;
+            if (k == key) return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+        if (++size - (containsEmpty ? 1 : 0) > (table.length >> 1)) rehash(table.length << 1);
+        return true;
+    }
+
+    public void clear() {
+        if (table.length > RETAIN_CAPACITY) {
+            allocate(64);
+        } else if (size > 0) {
+            Arrays.fill(table, EMPTY);
+        }
+        size = 0;
+        containsEmpty = false;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (containsEmpty) action.accept(EMPTY);
+        for (long k : table) {
+            if (k != EMPTY) action.accept(k);
+        }
+    }
+
+    public PackedPosSet copy() {
+        PackedPosSet out = new PackedPosSet(size);
+        forEach(out::add);
+        return out;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        allocate(capacity);
+        size = containsEmpty ? 1 : 0;
+        for (long k : old) {
+            if (k != EMPTY) add(k);
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private static int tableSizeFor(int expected) {
+        int cap = 16;
+        while (cap < expected * 2) cap <<= 1;
+        return cap;
+    }
+}
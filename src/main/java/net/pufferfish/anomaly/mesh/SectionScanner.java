@@ -0,0 +1,84 @@
+package net.pufferfish.anomaly.mesh;
+
+import java.util.function.Predicate;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Block reader for network walks.
+ *
+ * {@code world.getBlockState} goes through the chunk manager on every probe and will load (or
+ * even generate) a chunk synchronously when a cable run leaves the loaded area. This reader
+ * resolves the chunk and {@link ChunkSection} once, reads by local coordinates while the walk
+ * stays inside it, and answers air for a whole section whose palette holds no network block.
+ *
+ * Chunks are only taken if already loaded; a position in any other chunk reads as null.
+ */
+public final class SectionScanner {
+
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+
+    private final ServerWorld world;
+    private final Predicate<BlockState> members;
+
+    private long chunkKey;
+    private boolean chunkCached;
+    @Nullable private WorldChunk chunk;
+
+    private int sectionIndex;
+    /** Null when the cached section is empty or has no network block in its palette. */
+    @Nullable private ChunkSection section;
+
+    public SectionScanner(ServerWorld world, Predicate<BlockState> members) {
+        this.world = world;
+        this.members = members;
+        begin();
+    }
+
+    /** Drops cached chunk/section references. Call once per operation. */
+    public void begin() {
+        chunkCached = false;
+        chunk = null;
+        section = null;
+        sectionIndex = Integer.MIN_VALUE;
+    }
+
+    /** @return the block state, or null if the position lies in a chunk that is not loaded */
+    @Nullable
+    public BlockState get(long pos) {
+        int x = BlockPos.unpackLongX(pos);
+        int y = BlockPos.unpackLongY(pos);
+        int z = BlockPos.unpackLongZ(pos);
+
+        long ck = ChunkPos.toLong(x >> 4, z >> 4);
+        if (!chunkCached || ck != chunkKey) {
+            chunkKey = ck;
+            chunkCached = true;
+            chunk = world.getChunkManager().getWorldChunk(x >> 4, z >> 4);
+            sectionIndex = Integer.MIN_VALUE;
+            section = null;
+        }
+        if (chunk == null) return null;
+
+        int si = chunk.getSectionIndex(y);
+        if (si != sectionIndex) {
+            sectionIndex = si;
+            ChunkSection[] sections = chunk.getSectionArray();
+            ChunkSection s = si >= 0 && si < sections.length ? sections[si] : null;
+            section = s == null || s.isEmpty() || !s.hasAny(members) ? null : s;
+        }
+        return section == null ? AIR : section.getBlockState(x & 15, y & 15, z & 15);
+    }
+
+    @Nullable
+    public BlockState get(BlockPos pos) {
+        return get(pos.asLong());
+    }
+}
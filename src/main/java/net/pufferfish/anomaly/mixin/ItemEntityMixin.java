@@ -16,6 +16,8 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import net.pufferfish.anomaly.item.ModItems;
+import net.pufferfish.anomaly.net.ParticleBroadcast;
+import net.pufferfish.anomaly.util.Geometry;
 
 @Mixin(ItemEntity.class)
 public abstract class ItemEntityMixin {
@@ -78,17 +80,20 @@ public abstract class ItemEntityMixin {
 
     @Unique
     private void spawnBlueCloud(ServerWorld sw, Vec3d center, int count, double radius) {
-        sw.spawnParticles(BLUE, center.x, center.y, center.z,
-                count, radius, radius * 0.6, radius, 0.05);
+        int ringPts = 36;
+        int stride = ParticleBroadcast.request(sw, ParticleBroadcast.Priority.AMBIENT, count + ringPts);
+
+        ParticleBroadcast.spawn(sw, BLUE, center.x, center.y, center.z,
+                ParticleBroadcast.thin(count, stride), radius, radius * 0.6, radius, 0.05);
 
         // Optional: a quick ring
-        int ringPts = 36;
         double r = radius + 0.5;
-        for (int i = 0; i < ringPts; i++) {
-            double a = (Math.PI * 2) * i / ringPts;
-            double cx = center.x + Math.cos(a) * r;
-            double cz = center.z + Math.sin(a) * r;
-            sw.spawnParticles(BLUE, cx, center.y + 0.1, cz, 1, 0, 0, 0, 0.0);
+        double[] circle = Geometry.circle(ringPts);
+        for (int i = 0; i < ringPts; i += stride) {
+            double cx = center.x + circle[i * 2] * r;
+            double cz = center.z + circle[i * 2 + 1] * r;
+            ParticleBroadcast.spawn(sw, BLUE, cx, center.y + 0.1, cz, 1, 0, 0, 0, 0.0,
+                    ParticleBroadcast.series(i, -1));
         }
     }
 }
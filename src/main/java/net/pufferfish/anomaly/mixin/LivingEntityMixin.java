@@ -5,11 +5,15 @@ import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.damage.DamageTypes;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.ActionResult;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.pufferfish.anomaly.block.SpireDormancy;
 import net.pufferfish.anomaly.util.CrownHooks;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(LivingEntity.class)
@@ -17,6 +21,22 @@ public abstract class LivingEntityMixin {
 
     @Shadow public abstract boolean isAlive();
 
+    @Unique
+    private long anomaly$lastSection = Long.MIN_VALUE;
+
+    // Dormant spires wake when a living entity crosses into a chunk section they watch
+    @Inject(method = "tick", at = @At("TAIL"))
+    private void anomaly$trackSection(CallbackInfo ci) {
+        LivingEntity self = (LivingEntity) (Object) this;
+        if (!(self.getWorld() instanceof ServerWorld sw)) return;
+
+        long section = ChunkSectionPos.toLong(self.getBlockPos());
+        if (section == anomaly$lastSection) return;
+        anomaly$lastSection = section;
+
+        SpireDormancy.onEntitySectionChanged(sw, section);
+    }
+
     @Inject(method = "damage", at = @At("HEAD"), cancellable = true)
     private void anomaly$blockMagicWhenCrowned(DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
         LivingEntity self = (LivingEntity) (Object) this;
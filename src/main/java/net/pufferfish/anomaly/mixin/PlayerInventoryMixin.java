@@ -0,0 +1,27 @@
+package net.pufferfish.anomaly.mixin;
+
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.ItemStack;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import net.pufferfish.anomaly.item.SpireMarkIndex;
+
+@Mixin(PlayerInventory.class)
+public abstract class PlayerInventoryMixin {
+
+    // Slot writes and removals that need not go through markDirty (commands, pickups, drops on
+    // death, Q-drops). Any of them can move a Spire Mark in or out.
+    @Inject(method = {"setStack", "removeOne", "dropAll", "clear"}, at = @At("HEAD"))
+    private void anomaly$slotsChanged(CallbackInfo ci) {
+        SpireMarkIndex.onInventoryChanged(((PlayerInventory) (Object) this).player);
+    }
+
+    @Inject(method = "removeStack", at = @At("HEAD"))
+    private void anomaly$stackRemoved(CallbackInfoReturnable<ItemStack> cir) {
+        SpireMarkIndex.onInventoryChanged(((PlayerInventory) (Object) this).player);
+    }
+}
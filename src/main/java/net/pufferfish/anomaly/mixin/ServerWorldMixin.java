@@ -0,0 +1,20 @@
+package net.pufferfish.anomaly.mixin;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.pufferfish.anomaly.block.SpireVisibility;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerWorld.class)
+public abstract class ServerWorldMixin {
+
+    // Spire visibility volumes forget the cells a changed block could shadow
+    @Inject(method = "onBlockChanged", at = @At("HEAD"))
+    private void anomaly$invalidateSpireVisibility(BlockPos pos, BlockState oldBlock, BlockState newBlock, CallbackInfo ci) {
+        SpireVisibility.onBlockChanged((ServerWorld) (Object) this, pos, oldBlock, newBlock);
+    }
+}
@@ -0,0 +1,271 @@
+package net.pufferfish.anomaly.net;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.Nullable;
+
+import net.pufferfish.anomaly.Anomaly;
+
+/**
+ * Effect descriptors for the Hextech ring/beam visuals.
+ *
+ * Instead of one particle packet per point, the server sends one packet per effect tick listing
+ * primitives (ring bands, beams, bursts) plus a dust colour; the client expands them into particles
+ * locally (see client.HextechEffectsClient). A teleporter stage used to cost several hundred packets
+ * per nearby player.
+ *
+ * Each effect is encoded at up to three levels of detail and ParticleBroadcast picks one per player;
+ * a level is only encoded when a player is in its distance band.
+ *
+ * Wire format: rgb int, dust size float, origin (three doubles), primitive count varint, then per
+ * primitive a shape byte and its fields. Positions are floats relative to the origin (the centre of
+ * the effect), directions plain floats.
+ */
+public final class HextechEffects {
+    public static final Identifier ID = new Identifier(Anomaly.MOD_ID, "hextech_effect");
+
+    public static final byte RING_BAND = 0;
+    public static final byte BEAM = 1;
+    public static final byte BURST = 2;
+
+    private HextechEffects() {}
+
+    public static Builder begin(int rgb, float size) {
+        return new Builder(rgb, size);
+    }
+
+    /* ---------- server side ---------- */
+
+    public static final class Builder {
+        private final int rgb;
+        private final float size;
+        private final List<Primitive> primitives = new ArrayList<>();
+        private ParticleBroadcast.Priority priority = ParticleBroadcast.Priority.EFFECT;
+        private Box bounds;
+
+        private Builder(int rgb, float size) {
+            this.rgb = rgb;
+            this.size = size;
+        }
+
+        /** Budget class of the effect; {@code EFFECT} unless set. */
+        public Builder priority(ParticleBroadcast.Priority priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        /** Concentric rings from {@code innerR} to {@code outerR} in the plane facing {@code axis}. */
+        public Builder ringBand(Vec3d center, Vec3d axis, double innerR, double outerR, int points, int layers) {
+            primitives.add(new RingBand(center, axis, innerR, outerR, points, layers));
+            include(new Box(center, center).expand(outerR));
+            return this;
+        }
+
+        /** {@code steps + 1} evenly spaced points from {@code from} to {@code to}, {@code perPoint} particles each. */
+        public Builder beam(Vec3d from, Vec3d to, int steps, int perPoint, double spread) {
+            primitives.add(new Beam(from, to, steps, perPoint, spread));
+            include(new Box(from, to));
+            return this;
+        }
+
+        /** {@code n} particles scattered around one point. */
+        public Builder burst(Vec3d at, int n, double spread) {
+            primitives.add(new Burst(at, n, spread));
+            include(new Box(at, at));
+            return this;
+        }
+
+        /**
+         * Queues the effect for every player within particle range of it (see {@link ParticleBroadcast}).
+         * Mid-range players get every {@link ParticleBroadcast#MID_STRIDE}-th ring point and beam step;
+         * far players only beam endpoints and bursts. Over the world's particle budget, ring points,
+         * beam steps and bursts are thinned by the stride the budget hands out.
+         */
+        public void send(ServerWorld world) {
+            if (primitives.isEmpty()) return;
+
+            // Nobody in range: no budget, no packets
+            int bands = ParticleBroadcast.bands(world, bounds);
+            if (bands == 0) return;
+
+            int stride = ParticleBroadcast.request(world, priority, particles(primitives));
+            List<Primitive> full = stride > 1 ? thin(primitives, stride) : primitives;
+            Vec3d origin = bounds.getCenter();
+
+            // A band with nobody in it borrows the next coarser variant, for a player who ends up
+            // there once the section's effects are merged (a larger box only brings players closer)
+            Packet<ClientPlayPacketListener> far = has(bands, ParticleBroadcast.Lod.FAR)
+                    ? packet(origin, decimate(full, true)) : null;
+            Packet<ClientPlayPacketListener> mid = has(bands, ParticleBroadcast.Lod.MID)
+                    ? packet(origin, decimate(full, false)) : far;
+            Packet<ClientPlayPacketListener> near = has(bands, ParticleBroadcast.Lod.NEAR)
+                    ? packet(origin, full) : mid;
+            if (near == null) return;
+
+            ParticleBroadcast.send(world, bounds, near, mid, far);
+        }
+
+        @Nullable
+        private Packet<ClientPlayPacketListener> packet(Vec3d origin, List<Primitive> list) {
+            if (list.isEmpty()) return null;
+
+            PacketByteBuf buf = PacketByteBufs.create();
+            buf.writeInt(rgb);
+            buf.writeFloat(size);
+            buf.writeDouble(origin.x);
+            buf.writeDouble(origin.y);
+            buf.writeDouble(origin.z);
+            buf.writeVarInt(list.size());
+            for (Primitive p : list) write(buf, origin, p);
+            return ServerPlayNetworking.createS2CPacket(ID, buf);
+        }
+
+        private void include(Box b) {
+            bounds = bounds == null ? b : bounds.union(b);
+        }
+    }
+
+    private static boolean has(int bands, ParticleBroadcast.Lod lod) {
+        return (bands & 1 << lod.ordinal()) != 0;
+    }
+
+    /** Particles the client spawns for {@code list}. */
+    private static int particles(List<Primitive> list) {
+        int n = 0;
+        for (Primitive p : list) {
+            if (p instanceof RingBand r) {
+                n += r.points() * (r.outerR() <= r.innerR() ? 1 : Math.max(2, r.layers()));
+            } else if (p instanceof Beam b) {
+                n += (Math.max(1, b.steps()) + 1) * Math.max(1, b.perPoint());
+            } else if (p instanceof Burst b) {
+                n += Math.max(1, b.n());
+            }
+        }
+        return n;
+    }
+
+    private static List<Primitive> thin(List<Primitive> in, int stride) {
+        List<Primitive> out = new ArrayList<>(in.size());
+        for (Primitive p : in) {
+            if (p instanceof RingBand r) {
+                out.add(new RingBand(r.center(), r.axis(), r.innerR(), r.outerR(),
+                        Math.max(3, r.points() / stride), r.layers()));
+            } else if (p instanceof Beam b) {
+                out.add(new Beam(b.from(), b.to(), Math.max(1, b.steps() / stride), b.perPoint(), b.spread()));
+            } else if (p instanceof Burst b) {
+                out.add(new Burst(b.at(), ParticleBroadcast.thin(b.n(), stride), b.spread()));
+            }
+        }
+        return out;
+    }
+
+    private static List<Primitive> decimate(List<Primitive> in, boolean far) {
+        int k = ParticleBroadcast.MID_STRIDE;
+        List<Primitive> out = new ArrayList<>(in.size());
+        for (Primitive p : in) {
+            if (p instanceof RingBand r) {
+                if (far) continue;
+                out.add(new RingBand(r.center(), r.axis(), r.innerR(), r.outerR(),
+                        Math.max(3, r.points() / k), Math.max(2, (r.layers() + 1) / 2)));
+            } else if (p instanceof Beam b) {
+                if (far) {
+                    out.add(new Burst(b.from(), b.perPoint(), b.spread()));
+                    out.add(new Burst(b.to(), b.perPoint(), b.spread()));
+                } else {
+                    out.add(new Beam(b.from(), b.to(), Math.max(1, b.steps() / k), b.perPoint(), b.spread()));
+                }
+            } else {
+                out.add(p);
+            }
+        }
+        return out;
+    }
+
+    private static void write(PacketByteBuf buf, Vec3d origin, Primitive p) {
+        if (p instanceof RingBand r) {
+            buf.writeByte(RING_BAND);
+            writePos(buf, origin, r.center());
+            writeDir(buf, r.axis());
+            buf.writeFloat((float) r.innerR());
+            buf.writeFloat((float) r.outerR());
+            buf.writeVarInt(r.points());
+            buf.writeVarInt(r.layers());
+        } else if (p instanceof Beam b) {
+            buf.writeByte(BEAM);
+            writePos(buf, origin, b.from());
+            writePos(buf, origin, b.to());
+            buf.writeVarInt(b.steps());
+            buf.writeVarInt(b.perPoint());
+            buf.writeFloat((float) b.spread());
+        } else if (p instanceof Burst b) {
+            buf.writeByte(BURST);
+            writePos(buf, origin, b.at());
+            buf.writeVarInt(b.n());
+            buf.writeFloat((float) b.spread());
+        }
+    }
+
+    private static void writePos(PacketByteBuf buf, Vec3d origin, Vec3d v) {
+        buf.writeFloat((float) (v.x - origin.x));
+        buf.writeFloat((float) (v.y - origin.y));
+        buf.writeFloat((float) (v.z - origin.z));
+    }
+
+    private static void writeDir(PacketByteBuf buf, Vec3d v) {
+        buf.writeFloat((float) v.x);
+        buf.writeFloat((float) v.y);
+        buf.writeFloat((float) v.z);
+    }
+
+    /* ---------- primitives ---------- */
+
+    public interface Primitive {}
+
+    public record RingBand(Vec3d center, Vec3d axis, double innerR, double outerR, int points, int layers) implements Primitive {}
+    public record Beam(Vec3d from, Vec3d to, int steps, int perPoint, double spread) implements Primitive {}
+    public record Burst(Vec3d at, int n, double spread) implements Primitive {}
+
+    /* ---------- client side ---------- */
+
+    public record Effect(int rgb, float size, List<Primitive> primitives) {}
+
+    /** Reads a whole effect; call on the network thread, the buffer is released afterwards. */
+    public static Effect decode(PacketByteBuf buf) {
+        int rgb = buf.readInt();
+        float size = buf.readFloat();
+        Vec3d origin = new Vec3d(buf.readDouble(), buf.readDouble(), buf.readDouble());
+        int n = buf.readVarInt();
+
+        List<Primitive> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            byte shape = buf.readByte();
+            switch (shape) {
+                case RING_BAND -> out.add(new RingBand(readPos(buf, origin), readDir(buf),
+                        buf.readFloat(), buf.readFloat(), buf.readVarInt(), buf.readVarInt()));
+                case BEAM -> out.add(new Beam(readPos(buf, origin), readPos(buf, origin),
+                        buf.readVarInt(), buf.readVarInt(), buf.readFloat()));
+                case BURST -> out.add(new Burst(readPos(buf, origin), buf.readVarInt(), buf.readFloat()));
+                default -> throw new IllegalArgumentException("Unknown hextech effect shape " + shape);
+            }
+        }
+        return new Effect(rgb, size, out);
+    }
+
+    private static Vec3d readPos(PacketByteBuf buf, Vec3d origin) {
+        return origin.add(buf.readFloat(), buf.readFloat(), buf.readFloat());
+    }
+
+    private static Vec3d readDir(PacketByteBuf buf) {
+        return new Vec3d(buf.readFloat(), buf.readFloat(), buf.readFloat());
+    }
+}
@@ -0,0 +1,282 @@
+package net.pufferfish.anomaly.net;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BundleS2CPacket;
+import net.minecraft.network.packet.s2c.play.ParticleS2CPacket;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Mod-wide particle emission buffer.
+ *
+ * {@code ServerWorld#spawnParticles} distance-checks every player in the world and sends a packet per
+ * call and player. Effects routed through here are collected during the tick and grouped by world and
+ * chunk section. At the end of the server tick each group works out its recipients once, and every
+ * player gets everything addressed to them as one bundle packet. A bundle still encodes every particle
+ * packet in full, so the payload is unchanged; what it saves is the per-call scan over all players
+ * and the per-packet flushes.
+ *
+ * Level of detail is picked per player while addressing: each emission carries the farthest
+ * {@link Lod} band that still receives it, so mid-range players get a decimated subset and far
+ * players only the outline (endpoints, bursts) of an effect. Close up nothing changes.
+ *
+ * Each world also has a per-tick particle budget. Emitters {@link #request} their full demand with a
+ * {@link Priority} and get back a stride to draw with, on the same tick. The budget is handed out in
+ * priority order (gameplay-critical beams first, ambient shells last) against the larger of each
+ * class's smoothed demand and what it has already asked for this tick, so a one-off burst is thinned
+ * on the tick it happens and an emitter that fires every other tick is held to the budget too.
+ */
+public final class ParticleBroadcast {
+
+    /** Same cut-off ServerWorld#spawnParticles uses for non-forced particles. */
+    private static final double VIEW_DISTANCE = 32.0;
+    /** Players closer than this get every emission. */
+    private static final double NEAR_DISTANCE = 12.0;
+    /** Players closer than this (and not near) get MID and FAR emissions. */
+    private static final double MID_DISTANCE = 22.0;
+    /** Every n-th point of a series is kept for mid-range players. */
+    public static final int MID_STRIDE = 3;
+    /** The client's bundle splitter rejects larger bundles. */
+    private static final int MAX_BUNDLE = 4096;
+
+    /** Particles per world and tick before lower priorities get decimated. */
+    private static final int TICK_BUDGET = 3000;
+    /** Coarsest decimation: even over budget, every n-th point is still drawn. */
+    private static final int MAX_STRIDE = 16;
+    /** Weight of the latest tick in the smoothed demand. */
+    private static final double DEMAND_SMOOTHING = 0.25;
+
+    /** Farthest distance band an emission is still sent to. */
+    public enum Lod { NEAR, MID, FAR }
+
+    /** Emitter classes, in the order the tick budget is handed out. */
+    public enum Priority { CRITICAL, EFFECT, AMBIENT }
+
+    private static final Map<RegistryKey<World>, Long2ObjectOpenHashMap<Group>> PENDING = new ConcurrentHashMap<>();
+    private static final Map<RegistryKey<World>, Budget> BUDGETS = new ConcurrentHashMap<>();
+
+    private ParticleBroadcast() {}
+
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(ParticleBroadcast::flush);
+        ServerWorldEvents.UNLOAD.register((server, world) -> {
+            PENDING.remove(world.getRegistryKey());
+            BUDGETS.remove(world.getRegistryKey());
+        });
+    }
+
+    /* ---------- budget ---------- */
+
+    /**
+     * Registers {@code particles} of demand for this tick and returns the stride to draw them with:
+     * every stride-th point (1 = all of them). Always pass the undecimated count.
+     */
+    public static int request(ServerWorld world, Priority priority, int particles) {
+        Budget b = BUDGETS.computeIfAbsent(world.getRegistryKey(), k -> new Budget());
+        b.demand[priority.ordinal()] += particles;
+        return b.stride(priority.ordinal());
+    }
+
+    /** {@code count} reduced by {@code stride}, never below one. */
+    public static int thin(int count, int stride) {
+        return stride <= 1 ? count : Math.max(1, count / stride);
+    }
+
+    /* ---------- emit ---------- */
+
+    /** Buffered stand-in for {@code ServerWorld#spawnParticles} (non-forced). */
+    public static <T extends ParticleEffect> void spawn(ServerWorld world, T particle,
+                                                        double x, double y, double z, int count,
+                                                        double dx, double dy, double dz, double speed) {
+        spawn(world, particle, x, y, z, count, dx, dy, dz, speed, Lod.FAR);
+    }
+
+    /** As above, but only sent to players up to the {@code upTo} band. */
+    public static <T extends ParticleEffect> void spawn(ServerWorld world, T particle,
+                                                        double x, double y, double z, int count,
+                                                        double dx, double dy, double dz, double speed, Lod upTo) {
+        Packet<ClientPlayPacketListener> packet = new ParticleS2CPacket(particle, false, x, y, z,
+                (float) dx, (float) dy, (float) dz, (float) speed, count);
+        Group g = group(world, x, y, z);
+        g.include(x, y, z, x, y, z);
+        g.near.add(packet);
+        if (upTo != Lod.NEAR) g.mid.add(packet);
+        if (upTo == Lod.FAR) g.far.add(packet);
+    }
+
+    /**
+     * Band for point {@code i} of a series running to {@code last}: endpoints reach every player,
+     * every {@link #MID_STRIDE}-th point mid-range ones, the rest only near ones. Closed shapes
+     * (rings, shells) have no endpoints; pass {@code last = -1}.
+     */
+    public static Lod series(int i, int last) {
+        if (i == 0 && last >= 0 || i == last) return Lod.FAR;
+        return i % MID_STRIDE == 0 ? Lod.MID : Lod.NEAR;
+    }
+
+    /**
+     * Sends one of three variants of an effect to each player within particle range of
+     * {@code bounds}, by distance. A null {@code mid}/{@code far} sends nothing to that band.
+     */
+    public static void send(ServerWorld world, Box bounds, Packet<ClientPlayPacketListener> near,
+                            @Nullable Packet<ClientPlayPacketListener> mid,
+                            @Nullable Packet<ClientPlayPacketListener> far) {
+        Vec3d c = bounds.getCenter();
+        Group g = group(world, c.x, c.y, c.z);
+        g.include(bounds.minX, bounds.minY, bounds.minZ, bounds.maxX, bounds.maxY, bounds.maxZ);
+        g.near.add(near);
+        if (mid != null) g.mid.add(mid);
+        if (far != null) g.far.add(far);
+    }
+
+    /**
+     * Bands ({@code 1 << Lod.ordinal()}) that have a player within particle range of {@code bounds}
+     * right now; 0 when nobody would receive an effect there. Lets emitters skip encoding variants
+     * nobody gets.
+     */
+    public static int bands(ServerWorld world, Box bounds) {
+        int mask = 0;
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            Vec3d p = player.getPos();
+            double dx = Math.max(0, Math.max(bounds.minX - p.x, p.x - bounds.maxX));
+            double dy = Math.max(0, Math.max(bounds.minY - p.y, p.y - bounds.maxY));
+            double dz = Math.max(0, Math.max(bounds.minZ - p.z, p.z - bounds.maxZ));
+            Lod lod = lod(dx * dx + dy * dy + dz * dz);
+            if (lod != null) mask |= 1 << lod.ordinal();
+            if (mask == 0b111) break;
+        }
+        return mask;
+    }
+
+    @Nullable
+    private static Lod lod(double d2) {
+        if (d2 < NEAR_DISTANCE * NEAR_DISTANCE) return Lod.NEAR;
+        if (d2 < MID_DISTANCE * MID_DISTANCE) return Lod.MID;
+        return d2 < VIEW_DISTANCE * VIEW_DISTANCE ? Lod.FAR : null;
+    }
+
+    private static Group group(ServerWorld world, double x, double y, double z) {
+        long key = ChunkSectionPos.asLong(
+                ChunkSectionPos.getSectionCoord(MathHelper.floor(x)),
+                ChunkSectionPos.getSectionCoord(MathHelper.floor(y)),
+                ChunkSectionPos.getSectionCoord(MathHelper.floor(z)));
+        return PENDING.computeIfAbsent(world.getRegistryKey(), k -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(key, k -> new Group());
+    }
+
+    /* ---------- flush ---------- */
+
+    private static void flush(MinecraftServer server) {
+        for (Budget b : BUDGETS.values()) b.endTick();
+
+        for (Map.Entry<RegistryKey<World>, Long2ObjectOpenHashMap<Group>> e : PENDING.entrySet()) {
+            Long2ObjectOpenHashMap<Group> groups = e.getValue();
+            if (groups.isEmpty()) continue;
+
+            ServerWorld world = server.getWorld(e.getKey());
+            if (world != null && !world.getPlayers().isEmpty()) {
+                Map<ServerPlayerEntity, List<Packet<ClientPlayPacketListener>>> out = new HashMap<>();
+                for (Group g : groups.values()) {
+                    for (ServerPlayerEntity player : world.getPlayers()) {
+                        List<Packet<ClientPlayPacketListener>> packets = g.forDistanceSq(g.squaredDistanceTo(player.getPos()));
+                        if (packets != null && !packets.isEmpty()) {
+                            out.computeIfAbsent(player, p -> new ArrayList<>()).addAll(packets);
+                        }
+                    }
+                }
+                out.forEach(ParticleBroadcast::deliver);
+            }
+            groups.clear();
+        }
+    }
+
+    private static void deliver(ServerPlayerEntity player, List<Packet<ClientPlayPacketListener>> packets) {
+        if (packets.size() == 1) {
+            player.networkHandler.sendPacket(packets.get(0));
+            return;
+        }
+        for (int i = 0; i < packets.size(); i += MAX_BUNDLE) {
+            List<Packet<ClientPlayPacketListener>> part = packets.subList(i, Math.min(packets.size(), i + MAX_BUNDLE));
+            player.networkHandler.sendPacket(new BundleS2CPacket(new ArrayList<>(part)));
+        }
+    }
+
+    private static final class Budget {
+        /** Requested so far this tick. */
+        final int[] demand = new int[Priority.values().length];
+        /** Exponentially smoothed demand of past ticks. */
+        final double[] smoothed = new double[Priority.values().length];
+
+        /**
+         * Stride for priority {@code p}: higher classes take their share first, then {@code p} is
+         * thinned to what is left. Each class counts as the larger of its smoothed and current demand.
+         */
+        int stride(int p) {
+            double left = TICK_BUDGET;
+            for (int q = 0; q < p; q++) {
+                left -= Math.min(left, expected(q));
+            }
+            double d = expected(p);
+            if (d <= left) return 1;
+            return left < 1.0 ? MAX_STRIDE : Math.min(MAX_STRIDE, (int) Math.ceil(d / left));
+        }
+
+        private double expected(int p) {
+            return Math.max(smoothed[p], demand[p]);
+        }
+
+        void endTick() {
+            for (int p = 0; p < demand.length; p++) {
+                smoothed[p] += (demand[p] - smoothed[p]) * DEMAND_SMOOTHING;
+                demand[p] = 0;
+            }
+        }
+    }
+
+    /** Packets emitted in one chunk section this tick per distance band, and the box they cover. */
+    private static final class Group {
+        final List<Packet<ClientPlayPacketListener>> near = new ArrayList<>();
+        final List<Packet<ClientPlayPacketListener>> mid = new ArrayList<>();
+        final List<Packet<ClientPlayPacketListener>> far = new ArrayList<>();
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+
+        void include(double x0, double y0, double z0, double x1, double y1, double z1) {
+            minX = Math.min(minX, x0); minY = Math.min(minY, y0); minZ = Math.min(minZ, z0);
+            maxX = Math.max(maxX, x1); maxY = Math.max(maxY, y1); maxZ = Math.max(maxZ, z1);
+        }
+
+        @Nullable
+        List<Packet<ClientPlayPacketListener>> forDistanceSq(double d2) {
+            Lod lod = lod(d2);
+            if (lod == null) return null;
+            return lod == Lod.NEAR ? near : lod == Lod.MID ? mid : far;
+        }
+
+        double squaredDistanceTo(Vec3d p) {
+            double dx = Math.max(0, Math.max(minX - p.x, p.x - maxX));
+            double dy = Math.max(0, Math.max(minY - p.y, p.y - maxY));
+            double dz = Math.max(0, Math.max(minZ - p.z, p.z - maxZ));
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
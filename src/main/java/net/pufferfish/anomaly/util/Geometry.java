@@ -0,0 +1,204 @@
+package net.pufferfish.anomaly.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Shared point tables, plane bases and distance helpers for effects and beam weapons.
+ *
+ * Unit circles and fibonacci unit spheres are built once per point count and cached (tables are
+ * shared: read them, never write). Everything is plain doubles so a ring or shell can be expanded
+ * without allocating a Vec3d per point:
+ * <pre>
+ *   double[] ring = Geometry.circle(n);
+ *   Geometry.basis(ax, ay, az, uv);
+ *   x = cx + (uv[0] * ring[2k] + uv[3] * ring[2k + 1]) * r   // same for y (uv[1], uv[4]) and z
+ * </pre>
+ */
+public final class Geometry {
+
+    public static final double GOLDEN_ANGLE = Math.PI * (3.0 - Math.sqrt(5.0));
+
+    /** Larger tables are built on every call instead of cached. */
+    private static final int MAX_CACHED = 1024;
+
+    private static final AtomicReferenceArray<double[]> CIRCLES = new AtomicReferenceArray<>(MAX_CACHED + 1);
+    private static final AtomicReferenceArray<double[]> SPHERES = new AtomicReferenceArray<>(MAX_CACHED + 1);
+
+    private Geometry() {}
+
+    /* ---------- tables ---------- */
+
+    /** {@code n} evenly spaced points on the unit circle starting at angle 0, as {@code [cos0, sin0, cos1, sin1, ...]}. */
+    public static double[] circle(int n) {
+        if (n > MAX_CACHED) return buildCircle(n);
+        double[] t = CIRCLES.get(n);
+        if (t == null) {
+            t = buildCircle(n);
+            CIRCLES.set(n, t);
+        }
+        return t;
+    }
+
+    /** {@code n} fibonacci-spiral points on the unit sphere from +Y to -Y, as {@code [x0, y0, z0, x1, ...]}. */
+    public static double[] sphere(int n) {
+        if (n > MAX_CACHED) return buildSphere(n);
+        double[] t = SPHERES.get(n);
+        if (t == null) {
+            t = buildSphere(n);
+            SPHERES.set(n, t);
+        }
+        return t;
+    }
+
+    private static double[] buildCircle(int n) {
+        double[] out = new double[Math.max(0, n) * 2];
+        double step = Math.PI * 2.0 / n;
+        for (int k = 0; k < n; k++) {
+            out[k * 2] = Math.cos(k * step);
+            out[k * 2 + 1] = Math.sin(k * step);
+        }
+        return out;
+    }
+
+    private static double[] buildSphere(int n) {
+        double[] out = new double[Math.max(0, n) * 3];
+        for (int i = 0; i < n; i++) {
+            double y = n == 1 ? 0.0 : 1.0 - (i / (double) (n - 1)) * 2.0;
+            double rr = Math.sqrt(Math.max(0.0, 1.0 - y * y));
+            double theta = GOLDEN_ANGLE * i;
+            out[i * 3] = Math.cos(theta) * rr;
+            out[i * 3 + 1] = y;
+            out[i * 3 + 2] = Math.sin(theta) * rr;
+        }
+        return out;
+    }
+
+    /* ---------- distances ---------- */
+
+    /** Squared distance from point p to the segment a-b (a point if a == b). */
+    public static double segmentDistanceSq(double px, double py, double pz,
+                                           double ax, double ay, double az,
+                                           double bx, double by, double bz) {
+        double dx = bx - ax, dy = by - ay, dz = bz - az;
+        double len2 = dx * dx + dy * dy + dz * dz;
+        double t = 0.0;
+        if (len2 > 1.0e-12) {
+            t = ((px - ax) * dx + (py - ay) * dy + (pz - az) * dz) / len2;
+            t = t < 0.0 ? 0.0 : (t > 1.0 ? 1.0 : t);
+        }
+        double ex = ax + dx * t - px, ey = ay + dy * t - py, ez = az + dz * t - pz;
+        return ex * ex + ey * ey + ez * ez;
+    }
+
+    /**
+     * Squared distance from the segment a-b to the box {@code [min, max]} (0 if they touch).
+     *
+     * Along the segment the squared distance is a convex, piecewise quadratic function of t whose
+     * pieces change where a coordinate crosses a box face. Its slope is continuous and piecewise
+     * linear, so the minimum lies between the last face crossing with slope <= 0 and the first with
+     * slope >= 0, and is solved exactly there.
+     */
+    public static double segmentBoxDistanceSq(double ax, double ay, double az,
+                                              double bx, double by, double bz,
+                                              double minX, double minY, double minZ,
+                                              double maxX, double maxY, double maxZ) {
+        double dx = bx - ax, dy = by - ay, dz = bz - az;
+        double lo = 0.0, hi = 1.0;
+        double sLo = boxSlope(0.0, ax, ay, az, dx, dy, dz, minX, minY, minZ, maxX, maxY, maxZ);
+        double sHi = boxSlope(1.0, ax, ay, az, dx, dy, dz, minX, minY, minZ, maxX, maxY, maxZ);
+
+        double t;
+        if (sLo >= 0.0) {
+            t = 0.0;
+        } else if (sHi <= 0.0) {
+            t = 1.0;
+        } else {
+            // Narrow [lo, hi] to the piece holding the root of the slope
+            for (int i = 0; i < 6; i++) {
+                int axis = i % 3;
+                double d = axis == 0 ? dx : (axis == 1 ? dy : dz);
+                if (d == 0.0) continue;
+                double a = axis == 0 ? ax : (axis == 1 ? ay : az);
+                double face = i < 3
+                        ? (axis == 0 ? minX : (axis == 1 ? minY : minZ))
+                        : (axis == 0 ? maxX : (axis == 1 ? maxY : maxZ));
+                double c = (face - a) / d;
+                if (c <= lo || c >= hi) continue;
+
+                double s = boxSlope(c, ax, ay, az, dx, dy, dz, minX, minY, minZ, maxX, maxY, maxZ);
+                if (s <= 0.0) {
+                    lo = c;
+                    sLo = s;
+                } else {
+                    hi = c;
+                    sHi = s;
+                }
+            }
+            t = lo - sLo * (hi - lo) / (sHi - sLo);
+        }
+        return pointBoxDistanceSq(ax + dx * t, ay + dy * t, az + dz * t, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /** Half the derivative in t of the squared box distance of {@code a + d * t}. */
+    private static double boxSlope(double t, double ax, double ay, double az,
+                                   double dx, double dy, double dz,
+                                   double minX, double minY, double minZ,
+                                   double maxX, double maxY, double maxZ) {
+        return outside(ax + dx * t, minX, maxX) * dx
+                + outside(ay + dy * t, minY, maxY) * dy
+                + outside(az + dz * t, minZ, maxZ) * dz;
+    }
+
+    /** Signed distance of {@code p} outside {@code [min, max]}, 0 inside. */
+    private static double outside(double p, double min, double max) {
+        return p < min ? p - min : (p > max ? p - max : 0.0);
+    }
+
+    private static double pointBoxDistanceSq(double px, double py, double pz,
+                                             double minX, double minY, double minZ,
+                                             double maxX, double maxY, double maxZ) {
+        double ex = Math.max(0.0, Math.max(minX - px, px - maxX));
+        double ey = Math.max(0.0, Math.max(minY - py, py - maxY));
+        double ez = Math.max(0.0, Math.max(minZ - pz, pz - maxZ));
+        return ex * ex + ey * ey + ez * ez;
+    }
+
+    /* ---------- basis ---------- */
+
+    /**
+     * Two unit vectors spanning the plane facing {@code (ax, ay, az)}: u into {@code out[0..2]},
+     * v into {@code out[3..5]}. Same choice of u/v as the old per-block ring helpers.
+     */
+    public static void basis(double ax, double ay, double az, double[] out) {
+        double len = Math.sqrt(ax * ax + ay * ay + az * az);
+        if (len < 1.0e-4) {
+            // Degenerate axis: horizontal plane
+            out[0] = 1; out[1] = 0; out[2] = 0;
+            out[3] = 0; out[4] = 0; out[5] = 1;
+            return;
+        }
+        double dx = ax / len, dy = ay / len, dz = az / len;
+
+        // u = dir x a, a = X unless dir is close to X
+        double ux, uy, uz;
+        if (Math.abs(dx) < 0.9) {
+            ux = 0; uy = dz; uz = -dy;          // dir x (1,0,0)
+        } else {
+            ux = -dz; uy = 0; uz = dx;          // dir x (0,1,0)
+        }
+        double ul = Math.sqrt(ux * ux + uy * uy + uz * uz);
+        if (ul < 1.0e-3) {
+            ux = dy; uy = -dx; uz = 0;          // dir x (0,0,1)
+            ul = Math.sqrt(ux * ux + uy * uy + uz * uz);
+        }
+        ux /= ul; uy /= ul; uz /= ul;
+
+        // v = dir x u (already unit: dir and u are orthonormal)
+        out[0] = ux;
+        out[1] = uy;
+        out[2] = uz;
+        out[3] = dy * uz - dz * uy;
+        out[4] = dz * ux - dx * uz;
+        out[5] = dx * uy - dy * ux;
+    }
+}
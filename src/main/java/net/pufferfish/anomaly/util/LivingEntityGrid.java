@@ -0,0 +1,282 @@
+package net.pufferfish.anomaly.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Living entities of a world bucketed by chunk section, filled lazily each world tick: the first
+ * query touching a section that is not filled yet runs one entity box query over its whole range and
+ * fills every missing section in it. Later queries that overlap it (neighbouring spires, a second
+ * shot) reuse those sections; nothing outside the queried ranges is ever looked at.
+ *
+ * An entity is listed in every section its hitbox touches, so a query only needs the sections its
+ * own box touches. Results are de-duplicated per query.
+ *
+ * Sections are only reused inside a world tick. Callers outside it (item use while packets are
+ * handled, commands) get freshly filled sections on every call, since players move between packets.
+ *
+ * Spires used to run their own 65x65x65 entity query, stream/sort every candidate and raycast
+ * each one; neighbouring spires repeated the same work. {@link #nearest} walks the buckets in
+ * rings around the origin and tests candidates in distance order, stopping at the first accepted
+ * one, so usually only the closest few entities ever reach the (raycasting) predicate.
+ */
+public final class LivingEntityGrid {
+
+    private static final double SECTION_HALF_DIAGONAL = 8.0 * Math.sqrt(3.0);
+
+    private static final Map<RegistryKey<World>, LivingEntityGrid> GRIDS = new ConcurrentHashMap<>();
+
+    private final ServerWorld world;
+    /** Filled sections this tick; an empty section maps to {@link List#of()}. */
+    private final Long2ObjectOpenHashMap<List<LivingEntity>> buckets = new Long2ObjectOpenHashMap<>();
+    private long builtAt = Long.MIN_VALUE;
+    /** Between the start of this world's tick and the end of the server tick. */
+    private boolean ticking;
+
+    private LivingEntityGrid(ServerWorld world) {
+        this.world = world;
+    }
+
+    public static void init() {
+        ServerTickEvents.START_WORLD_TICK.register(world -> get(world).ticking = true);
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            for (LivingEntityGrid grid : GRIDS.values()) grid.ticking = false;
+        });
+        ServerWorldEvents.UNLOAD.register((server, world) -> GRIDS.remove(world.getRegistryKey()));
+    }
+
+    public static LivingEntityGrid get(ServerWorld world) {
+        LivingEntityGrid grid = GRIDS.get(world.getRegistryKey());
+        if (grid == null || grid.world != world) {
+            grid = new LivingEntityGrid(world);
+            GRIDS.put(world.getRegistryKey(), grid);
+        }
+        grid.refresh();
+        return grid;
+    }
+
+    private void refresh() {
+        if (!ticking) {
+            builtAt = Long.MIN_VALUE;
+            buckets.clear();
+            return;
+        }
+        long now = world.getTime();
+        if (now == builtAt) return;
+        builtAt = now;
+        buckets.clear();
+    }
+
+    /** Fills every section in the range that has not been filled this tick, with one entity query. */
+    private void ensure(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        LongOpenHashSet missing = null;
+        for (int sx = minX; sx <= maxX; sx++) {
+            for (int sy = minY; sy <= maxY; sy++) {
+                for (int sz = minZ; sz <= maxZ; sz++) {
+                    long key = ChunkSectionPos.asLong(sx, sy, sz);
+                    if (buckets.containsKey(key)) continue;
+                    if (missing == null) missing = new LongOpenHashSet();
+                    missing.add(key);
+                    buckets.put(key, List.of());
+                }
+            }
+        }
+        if (missing == null) return;
+
+        Box range = new Box(minX << 4, minY << 4, minZ << 4, (maxX + 1) << 4, (maxY + 1) << 4, (maxZ + 1) << 4);
+        for (LivingEntity le : world.getEntitiesByClass(LivingEntity.class, range, LivingEntity::isAlive)) {
+            Box hb = le.getBoundingBox();
+            int x0 = Math.max(minX, section(hb.minX)), x1 = Math.min(maxX, section(hb.maxX));
+            int y0 = Math.max(minY, section(hb.minY)), y1 = Math.min(maxY, section(hb.maxY));
+            int z0 = Math.max(minZ, section(hb.minZ)), z1 = Math.min(maxZ, section(hb.maxZ));
+            for (int sx = x0; sx <= x1; sx++) {
+                for (int sy = y0; sy <= y1; sy++) {
+                    for (int sz = z0; sz <= z1; sz++) {
+                        long key = ChunkSectionPos.asLong(sx, sy, sz);
+                        if (!missing.contains(key)) continue; // filled earlier, already lists it
+                        List<LivingEntity> bucket = buckets.get(key);
+                        if (bucket.isEmpty()) {
+                            bucket = new ArrayList<>(4);
+                            buckets.put(key, bucket);
+                        }
+                        bucket.add(le);
+                    }
+                }
+            }
+        }
+    }
+
+    private void ensure(Box box) {
+        ensure(section(box.minX), section(box.minY), section(box.minZ),
+                section(box.maxX), section(box.maxY), section(box.maxZ));
+    }
+
+    /* ---------- queries ---------- */
+
+    /**
+     * Nearest living entity (by position) whose hitbox intersects {@code box} and that passes
+     * {@code accept}. Candidates are tested closest first; the search ends at the first match.
+     */
+    @Nullable
+    public LivingEntity nearest(Vec3d origin, Box box, Predicate<LivingEntity> accept) {
+        int minX = section(box.minX), maxX = section(box.maxX);
+        int minY = section(box.minY), maxY = section(box.maxY);
+        int minZ = section(box.minZ), maxZ = section(box.maxZ);
+        ensure(minX, minY, minZ, maxX, maxY, maxZ);
+
+        int ox = section(origin.x);
+        int oy = section(origin.y);
+        int oz = section(origin.z);
+        int maxRing = Math.max(Math.max(Math.max(ox - minX, maxX - ox), Math.max(oy - minY, maxY - oy)),
+                Math.max(oz - minZ, maxZ - oz));
+
+        Comparator<LivingEntity> byDistance = Comparator.comparingDouble(le -> le.getPos().squaredDistanceTo(origin));
+        List<LivingEntity> pending = new ArrayList<>();
+        ReferenceOpenHashSet<LivingEntity> seen = new ReferenceOpenHashSet<>();
+
+        for (int r = 0; r <= maxRing; r++) {
+            for (int sx = Math.max(minX, ox - r); sx <= Math.min(maxX, ox + r); sx++) {
+                for (int sy = Math.max(minY, oy - r); sy <= Math.min(maxY, oy + r); sy++) {
+                    for (int sz = Math.max(minZ, oz - r); sz <= Math.min(maxZ, oz + r); sz++) {
+                        // ring r only: at least one axis on the shell
+                        if (Math.abs(sx - ox) != r && Math.abs(sy - oy) != r && Math.abs(sz - oz) != r) continue;
+
+                        for (LivingEntity le : buckets.get(ChunkSectionPos.asLong(sx, sy, sz))) {
+                            if (le.getBoundingBox().intersects(box) && seen.add(le)) pending.add(le);
+                        }
+                    }
+                }
+            }
+            if (pending.isEmpty()) continue;
+
+            // Anything not seen yet has no part in rings <= r, so it is at least 16*r away and closer
+            // candidates are final.
+            double safe = r == maxRing ? Double.MAX_VALUE : (16.0 * r) * (16.0 * r);
+            pending.sort(byDistance);
+
+            int tested = 0;
+            for (LivingEntity le : pending) {
+                if (le.getPos().squaredDistanceTo(origin) > safe) break;
+                tested++;
+                if (le.isAlive() && accept.test(le)) return le;
+            }
+            pending.subList(0, tested).clear();
+        }
+        return null;
+    }
+
+    /** True if any living entity whose hitbox intersects {@code box} passes {@code accept}. */
+    public boolean any(Box box, Predicate<LivingEntity> accept) {
+        ensure(box);
+        for (int sx = section(box.minX); sx <= section(box.maxX); sx++) {
+            for (int sy = section(box.minY); sy <= section(box.maxY); sy++) {
+                for (int sz = section(box.minZ); sz <= section(box.maxZ); sz++) {
+                    for (LivingEntity le : buckets.get(ChunkSectionPos.asLong(sx, sy, sz))) {
+                        if (le.isAlive() && le.getBoundingBox().intersects(box) && accept.test(le)) return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Adds every living entity whose hitbox intersects {@code box} to {@code out}. */
+    public void collect(Box box, List<LivingEntity> out) {
+        ensure(box);
+        ReferenceOpenHashSet<LivingEntity> seen = new ReferenceOpenHashSet<>();
+        for (int sx = section(box.minX); sx <= section(box.maxX); sx++) {
+            for (int sy = section(box.minY); sy <= section(box.maxY); sy++) {
+                for (int sz = section(box.minZ); sz <= section(box.maxZ); sz++) {
+                    for (LivingEntity le : buckets.get(ChunkSectionPos.asLong(sx, sy, sz))) {
+                        if (le.isAlive() && le.getBoundingBox().intersects(box) && seen.add(le)) out.add(le);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds every living entity whose hitbox comes within {@code radius} of the segment
+     * {@code a}-{@code b} to {@code out}, however large the hitbox.
+     */
+    public void collectCapsule(Vec3d a, Vec3d b, double radius, List<LivingEntity> out) {
+        double r2 = radius * radius;
+        walkCapsule(a, b, radius, le -> touchesCapsule(le.getBoundingBox(), a, b, radius, r2), out);
+    }
+
+    /**
+     * Adds every living entity whose mid-height centre lies within {@code radius} of the segment
+     * {@code a}-{@code b} to {@code out}: a narrower test than {@link #collectCapsule}, for effects
+     * that must not reach further than the beam itself.
+     */
+    public void collectCentres(Vec3d a, Vec3d b, double radius, List<LivingEntity> out) {
+        double r2 = radius * radius;
+        walkCapsule(a, b, radius, le -> Geometry.segmentDistanceSq(le.getX(), le.getBodyY(0.5), le.getZ(),
+                a.x, a.y, a.z, b.x, b.y, b.z) <= r2, out);
+    }
+
+    /**
+     * Only sections the capsule can reach are visited, so a long diagonal beam does not scan the
+     * whole box around it. {@code test} sees every live entity listed there, once.
+     */
+    private void walkCapsule(Vec3d a, Vec3d b, double radius, Predicate<LivingEntity> test, List<LivingEntity> out) {
+        // A hitbox point within radius sits in a section listing the entity, half a diagonal from its centre
+        double reach = radius + SECTION_HALF_DIAGONAL;
+        double reach2 = reach * reach;
+
+        int minX = section(Math.min(a.x, b.x) - radius), maxX = section(Math.max(a.x, b.x) + radius);
+        int minY = section(Math.min(a.y, b.y) - radius), maxY = section(Math.max(a.y, b.y) + radius);
+        int minZ = section(Math.min(a.z, b.z) - radius), maxZ = section(Math.max(a.z, b.z) + radius);
+        ensure(minX, minY, minZ, maxX, maxY, maxZ);
+
+        ReferenceOpenHashSet<LivingEntity> seen = new ReferenceOpenHashSet<>();
+
+        for (int sx = minX; sx <= maxX; sx++) {
+            for (int sy = minY; sy <= maxY; sy++) {
+                for (int sz = minZ; sz <= maxZ; sz++) {
+                    double cx = (sx << 4) + 8.0, cy = (sy << 4) + 8.0, cz = (sz << 4) + 8.0;
+                    if (Geometry.segmentDistanceSq(cx, cy, cz, a.x, a.y, a.z, b.x, b.y, b.z) > reach2) continue;
+
+                    for (LivingEntity le : buckets.get(ChunkSectionPos.asLong(sx, sy, sz))) {
+                        if (!le.isAlive() || !seen.add(le)) continue;
+                        if (test.test(le)) out.add(le);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean touchesCapsule(Box hb, Vec3d a, Vec3d b, double radius, double r2) {
+        Vec3d c = hb.getCenter();
+        double half = 0.5 * Math.sqrt(hb.getXLength() * hb.getXLength() + hb.getYLength() * hb.getYLength()
+                + hb.getZLength() * hb.getZLength());
+        double d2 = Geometry.segmentDistanceSq(c.x, c.y, c.z, a.x, a.y, a.z, b.x, b.y, b.z);
+        if (d2 <= r2) return true;
+        if (d2 > (radius + half) * (radius + half)) return false;
+        return Geometry.segmentBoxDistanceSq(a.x, a.y, a.z, b.x, b.y, b.z,
+                hb.minX, hb.minY, hb.minZ, hb.maxX, hb.maxY, hb.maxZ) <= r2;
+    }
+
+    private static int section(double coord) {
+        return ChunkSectionPos.getSectionCoord(MathHelper.floor(coord));
+    }
+}
@@ -0,0 +1,139 @@
+package net.pufferfish.anomaly.world;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.scoreboard.AbstractTeam;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.PersistentStateManager;
+
+/**
+ * Which side each spire is on.
+ *
+ * A spire joins a group when placed: the placer's scoreboard team if they have one, otherwise the
+ * placer's own owner group. Members of that group are exempt from the spire, so a faction needs
+ * neither Spire Marks nor to be the spire's owner. An exemption check is two hash lookups:
+ * spire -> group id, then the player's team/UUID -> group id.
+ */
+public class SpireAllegianceState extends PersistentState {
+    private static final String KEY = "anomaly_spire_allegiance";
+
+    private static final int NO_GROUP = -1;
+    private static final String KIND_TEAM = "team";
+    private static final String KIND_OWNER = "owner";
+
+    private final Long2IntOpenHashMap spireGroup = new Long2IntOpenHashMap();
+    private final Object2IntOpenHashMap<String> teamGroups = new Object2IntOpenHashMap<>();
+    private final Object2IntOpenHashMap<UUID> ownerGroups = new Object2IntOpenHashMap<>();
+    /** Group id -> {kind, key}, for saving. */
+    private final List<String[]> groups = new ArrayList<>();
+
+    public static SpireAllegianceState get(ServerWorld world) {
+        PersistentStateManager mgr = world.getPersistentStateManager();
+        return mgr.getOrCreate(
+                SpireAllegianceState::fromNbt,
+                SpireAllegianceState::new,
+                KEY
+        );
+    }
+
+    private SpireAllegianceState() {
+        spireGroup.defaultReturnValue(NO_GROUP);
+        teamGroups.defaultReturnValue(NO_GROUP);
+        ownerGroups.defaultReturnValue(NO_GROUP);
+    }
+
+    private static SpireAllegianceState fromNbt(NbtCompound nbt) {
+        SpireAllegianceState state = new SpireAllegianceState();
+
+        NbtList groups = nbt.getList("groups", NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < groups.size(); i++) {
+            NbtCompound g = groups.getCompound(i);
+            state.addGroup(g.getString("kind"), g.getString("key"));
+        }
+
+        NbtList spires = nbt.getList("spires", NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < spires.size(); i++) {
+            NbtCompound s = spires.getCompound(i);
+            int gid = s.getInt("group");
+            if (gid >= 0 && gid < state.groups.size()) state.spireGroup.put(s.getLong("pos"), gid);
+        }
+        return state;
+    }
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound nbt) {
+        NbtList groupList = new NbtList();
+        for (String[] g : groups) {
+            NbtCompound c = new NbtCompound();
+            c.putString("kind", g[0]);
+            c.putString("key", g[1]);
+            groupList.add(c);
+        }
+        nbt.put("groups", groupList);
+
+        NbtList spireList = new NbtList();
+        for (Long2IntMap.Entry e : spireGroup.long2IntEntrySet()) {
+            NbtCompound c = new NbtCompound();
+            c.putLong("pos", e.getLongKey());
+            c.putInt("group", e.getIntValue());
+            spireList.add(c);
+        }
+        nbt.put("spires", spireList);
+        return nbt;
+    }
+
+    /* ---------- spires ---------- */
+
+    public void assign(BlockPos spire, PlayerEntity placer) {
+        AbstractTeam team = placer.getScoreboardTeam();
+        int gid = team != null
+                ? groupId(KIND_TEAM, team.getName())
+                : groupId(KIND_OWNER, placer.getUuid().toString());
+        spireGroup.put(spire.asLong(), gid);
+        markDirty();
+    }
+
+    public void remove(BlockPos spire) {
+        if (spireGroup.remove(spire.asLong()) != NO_GROUP) markDirty();
+    }
+
+    /** True if the player belongs to the spire's group (by scoreboard team or as its owner). */
+    public boolean isAllied(BlockPos spire, PlayerEntity player) {
+        int gid = spireGroup.get(spire.asLong());
+        if (gid == NO_GROUP) return false;
+
+        AbstractTeam team = player.getScoreboardTeam();
+        if (team != null && teamGroups.getInt(team.getName()) == gid) return true;
+        return ownerGroups.getInt(player.getUuid()) == gid;
+    }
+
+    /* ---------- groups ---------- */
+
+    private int groupId(String kind, String key) {
+        int gid = KIND_TEAM.equals(kind) ? teamGroups.getInt(key) : ownerGroups.getInt(UUID.fromString(key));
+        return gid != NO_GROUP ? gid : addGroup(kind, key);
+    }
+
+    private int addGroup(String kind, String key) {
+        int gid = groups.size();
+        groups.add(new String[]{kind, key});
+        if (KIND_TEAM.equals(kind)) {
+            teamGroups.put(key, gid);
+        } else {
+            ownerGroups.put(UUID.fromString(key), gid);
+        }
+        markDirty();
+        return gid;
+    }
+}
@@ -0,0 +1,101 @@
+package net.pufferfish.anomaly.mesh;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedPosSetTest {
+
+    @Test
+    void addReportsNewKeysOnly() {
+        PackedPosSet set = new PackedPosSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(42L));
+        assertFalse(set.add(42L));
+        assertTrue(set.add(-42L));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(42L));
+        assertTrue(set.contains(-42L));
+        assertFalse(set.contains(43L));
+    }
+
+    @Test
+    void growsFromTheSmallestTable() {
+        PackedPosSet set = new PackedPosSet(1);
+        for (long k = 0; k < 100_000; k++) assertTrue(set.add(k * 4097));
+        assertEquals(100_000, set.size());
+        for (long k = 0; k < 100_000; k++) {
+            assertTrue(set.contains(k * 4097));
+            assertFalse(set.contains(k * 4097 + 1));
+        }
+    }
+
+    @Test
+    void storesTheFreeSlotMarker() {
+        PackedPosSet set = new PackedPosSet(1);
+        assertFalse(set.contains(Long.MIN_VALUE));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(Long.MIN_VALUE));
+        assertTrue(set.contains(Long.MIN_VALUE));
+        assertEquals(1, set.size());
+
+        // Survives rehashing and is visited and copied like any other key
+        for (long k = 1; k <= 1000; k++) set.add(k);
+        assertEquals(1001, set.size());
+        assertTrue(set.contains(Long.MIN_VALUE));
+
+        Set<Long> seen = new HashSet<>();
+        set.forEach(seen::add);
+        assertEquals(1001, seen.size());
+        assertTrue(seen.contains(Long.MIN_VALUE));
+        assertTrue(set.copy().contains(Long.MIN_VALUE));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(Long.MIN_VALUE));
+    }
+
+    @Test
+    void matchesHashSetUnderCollisions() {
+        // Neighbouring positions and keys that only differ in their high bits, on a small table
+        // that keeps probing chains long between rehashes
+        Random random = new Random(1234);
+        PackedPosSet set = new PackedPosSet(1);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            long k = switch (i % 3) {
+                case 0 -> random.nextInt(512);
+                case 1 -> (long) random.nextInt(512) << 38;
+                default -> random.nextLong();
+            };
+            assertEquals(expected.add(k), set.add(k));
+        }
+        assertEquals(expected.size(), set.size());
+        for (int i = 0; i < 20_000; i++) {
+            long k = random.nextLong();
+            assertEquals(expected.contains(k), set.contains(k));
+        }
+        for (long k : expected) assertTrue(set.contains(k));
+    }
+
+    @Test
+    void clearKeepsTheSetUsable() {
+        PackedPosSet set = new PackedPosSet();
+        for (long k = 0; k < 5000; k++) set.add(k);
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(10L));
+        assertTrue(set.add(10L));
+        assertEquals(1, set.size());
+
+        Set<Long> seen = new HashSet<>();
+        set.forEach(seen::add);
+        assertEquals(Set.of(10L), seen);
+    }
+}
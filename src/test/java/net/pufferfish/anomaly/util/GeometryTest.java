@@ -0,0 +1,94 @@
+package net.pufferfish.anomaly.util;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeometryTest {
+
+    @Test
+    void segmentBoxDistanceMatchesBruteForce() {
+        Random random = new Random(42);
+        for (int n = 0; n < 20_000; n++) {
+            double[] s = new double[6];
+            for (int i = 0; i < 6; i++) s[i] = (random.nextDouble() - 0.5) * 20.0;
+            // Axis-parallel segments now and then, so zero direction components are covered too
+            if (n % 7 == 0) s[4] = s[1];
+            if (n % 11 == 0) s[5] = s[2];
+
+            double minX = (random.nextDouble() - 0.5) * 10.0, minY = (random.nextDouble() - 0.5) * 10.0;
+            double minZ = (random.nextDouble() - 0.5) * 10.0;
+            double maxX = minX + random.nextDouble() * 4.0, maxY = minY + random.nextDouble() * 4.0;
+            double maxZ = minZ + random.nextDouble() * 4.0;
+
+            double expected = bruteForce(s, minX, minY, minZ, maxX, maxY, maxZ);
+            double actual = Geometry.segmentBoxDistanceSq(s[0], s[1], s[2], s[3], s[4], s[5],
+                    minX, minY, minZ, maxX, maxY, maxZ);
+            assertEquals(expected, actual, 1.0e-9 * Math.max(1.0, expected), "case " + n);
+        }
+    }
+
+    @Test
+    void segmentBoxDistanceSpecialCases() {
+        // Through the box
+        assertEquals(0.0, Geometry.segmentBoxDistanceSq(-5, 0.5, 0.5, 5, 0.5, 0.5, 0, 0, 0, 1, 1, 1));
+        // Single point
+        assertEquals(4.0, Geometry.segmentBoxDistanceSq(3, 0.5, 0.5, 3, 0.5, 0.5, 0, 0, 0, 1, 1, 1), 1.0e-12);
+        // Parallel to a face, one block above it
+        assertEquals(1.0, Geometry.segmentBoxDistanceSq(-5, 2, 0.5, 5, 2, 0.5, 0, 0, 0, 1, 1, 1), 1.0e-12);
+        // Passing an edge diagonally (x + z = 4): the edge x = 1, z = 1 is sqrt(2) away
+        assertEquals(2.0, Geometry.segmentBoxDistanceSq(3, 0.5, 1, 1, 0.5, 3, 0, 0, 0, 1, 1, 1), 1.0e-12);
+    }
+
+    @Test
+    void basisIsOrthonormal() {
+        Random random = new Random(7);
+        double[] uv = new double[6];
+        for (int n = 0; n < 1000; n++) {
+            double ax = random.nextGaussian(), ay = random.nextGaussian(), az = random.nextGaussian();
+            if (n % 10 == 0) { ay = 0; az = 0; }
+            Geometry.basis(ax, ay, az, uv);
+            double len = Math.sqrt(ax * ax + ay * ay + az * az);
+
+            assertEquals(1.0, uv[0] * uv[0] + uv[1] * uv[1] + uv[2] * uv[2], 1.0e-9);
+            assertEquals(1.0, uv[3] * uv[3] + uv[4] * uv[4] + uv[5] * uv[5], 1.0e-9);
+            assertEquals(0.0, uv[0] * uv[3] + uv[1] * uv[4] + uv[2] * uv[5], 1.0e-9);
+            assertEquals(0.0, (uv[0] * ax + uv[1] * ay + uv[2] * az) / len, 1.0e-9);
+            assertEquals(0.0, (uv[3] * ax + uv[4] * ay + uv[5] * az) / len, 1.0e-9);
+        }
+    }
+
+    /** Dense sampling along the segment, then a ternary search around the best sample. */
+    private static double bruteForce(double[] s, double minX, double minY, double minZ,
+                                     double maxX, double maxY, double maxZ) {
+        int samples = 4000;
+        int best = 0;
+        double bestD = Double.MAX_VALUE;
+        for (int i = 0; i <= samples; i++) {
+            double d = at(s, i / (double) samples, minX, minY, minZ, maxX, maxY, maxZ);
+            if (d < bestD) {
+                bestD = d;
+                best = i;
+            }
+        }
+        double lo = Math.max(0.0, (best - 1) / (double) samples);
+        double hi = Math.min(1.0, (best + 1) / (double) samples);
+        for (int i = 0; i < 200; i++) {
+            double m1 = lo + (hi - lo) / 3.0, m2 = hi - (hi - lo) / 3.0;
+            if (at(s, m1, minX, minY, minZ, maxX, maxY, maxZ) <= at(s, m2, minX, minY, minZ, maxX, maxY, maxZ)) hi = m2;
+            else lo = m1;
+        }
+        return Math.min(bestD, at(s, (lo + hi) * 0.5, minX, minY, minZ, maxX, maxY, maxZ));
+    }
+
+    private static double at(double[] s, double t, double minX, double minY, double minZ,
+                             double maxX, double maxY, double maxZ) {
+        double x = s[0] + (s[3] - s[0]) * t, y = s[1] + (s[4] - s[1]) * t, z = s[2] + (s[5] - s[2]) * t;
+        double ex = Math.max(0.0, Math.max(minX - x, x - maxX));
+        double ey = Math.max(0.0, Math.max(minY - y, y - maxY));
+        double ez = Math.max(0.0, Math.max(minZ - z, z - maxZ));
+        return ex * ex + ey * ey + ez * ez;
+    }
+}